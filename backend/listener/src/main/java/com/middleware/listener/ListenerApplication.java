@@ -4,9 +4,11 @@ import org.apache.camel.spring.boot.CamelAutoConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @Import(CamelAutoConfiguration.class)
+@EnableScheduling
 public class ListenerApplication {
     public static void main(String[] args) {
         SpringApplication.run(ListenerApplication.class, args);
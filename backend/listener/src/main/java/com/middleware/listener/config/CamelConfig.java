@@ -1,12 +1,25 @@
 package com.middleware.listener.config;
 
 import org.apache.camel.CamelContext;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.support.processor.idempotent.MemoryIdempotentRepository;
 import org.apache.camel.spring.boot.CamelContextConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class CamelConfig {
+    public static final String INBOUND_IDEMPOTENT_REPOSITORY = "inboundIdempotentRepository";
+
+    /**
+     * Files already picked up by the SFTP consumers, so a file isn't downloaded twice while in flight
+     * or by another consumer of the same directory.
+     */
+    @Bean(INBOUND_IDEMPOTENT_REPOSITORY)
+    IdempotentRepository inboundIdempotentRepository() {
+        return MemoryIdempotentRepository.memoryIdempotentRepository(100000);
+    }
+
     @Bean
     CamelContextConfiguration contextConfiguration() {
         return new CamelContextConfiguration() {
@@ -0,0 +1,30 @@
+package com.middleware.listener.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Shared directory received files are spooled to. The processor reads them from the same
+ * directory, so it must be a volume mounted by both.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "content-store")
+public class ContentStoreProperties {
+    @NotNull
+    private String directory = "./data/content-store";
+
+    /**
+     * Days stored files are kept; the processor deletes them once processed, what is left
+     * after this was never consumed.
+     */
+    @Positive
+    private int retentionDays = 7;
+
+    public String getDirectory() { return directory; }
+    public void setDirectory(String directory) { this.directory = directory; }
+
+    public int getRetentionDays() { return retentionDays; }
+    public void setRetentionDays(int retentionDays) { this.retentionDays = retentionDays; }
+}
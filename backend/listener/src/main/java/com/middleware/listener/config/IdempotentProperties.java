@@ -0,0 +1,49 @@
+package com.middleware.listener.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Deduplication of received files and messages.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "idempotent")
+public class IdempotentProperties {
+    /**
+     * Days a received file or message is remembered; a resend after that is processed again.
+     */
+    @Positive
+    private int retentionDays = 30;
+
+    /**
+     * Recently seen keys kept in memory, so duplicates are recognised without a query.
+     */
+    @Positive
+    private int cacheSize = 10000;
+
+    /**
+     * Time (in milliseconds) after which a key that was never confirmed, e.g. because the listener stopped
+     * before the broker confirmed the claim check, no longer blocks a resend.
+     */
+    @Positive
+    private long unconfirmedTimeout = 600000;
+
+    /**
+     * Interval (in milliseconds) between purges of expired keys.
+     */
+    @Positive
+    private long purgeInterval = 3600000;
+
+    public int getRetentionDays() { return retentionDays; }
+    public void setRetentionDays(int retentionDays) { this.retentionDays = retentionDays; }
+
+    public int getCacheSize() { return cacheSize; }
+    public void setCacheSize(int cacheSize) { this.cacheSize = cacheSize; }
+
+    public long getUnconfirmedTimeout() { return unconfirmedTimeout; }
+    public void setUnconfirmedTimeout(long unconfirmedTimeout) { this.unconfirmedTimeout = unconfirmedTimeout; }
+
+    public long getPurgeInterval() { return purgeInterval; }
+    public void setPurgeInterval(long purgeInterval) { this.purgeInterval = purgeInterval; }
+}
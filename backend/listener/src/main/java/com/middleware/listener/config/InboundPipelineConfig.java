@@ -0,0 +1,132 @@
+package com.middleware.listener.config;
+
+import com.middleware.listener.service.ClaimCheck;
+import com.middleware.listener.service.ContentStore;
+import com.middleware.listener.service.InboundPublisher;
+import com.middleware.listener.service.JdbcIdempotentRepository;
+import com.middleware.listener.service.StoredContent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.Exchange;
+import org.apache.camel.InvalidPayloadException;
+import org.apache.camel.LoggingLevel;
+import org.apache.camel.Message;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.http.HttpEntity;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Routes the connector routes hand received files to. The payload is streamed to the content store and
+ * only a claim check referencing it is published to inbound.processor, so message size and heap use
+ * don't grow with the file. Files already received, with the same client, source, name and content,
+ * are dropped instead of being published again.
+ */
+@Configuration
+@RequiredArgsConstructor
+@Slf4j
+public class InboundPipelineConfig {
+    public static final String DUPLICATE_HEADER = "InboundDuplicate";
+
+    private final ContentStore contentStore;
+    private final InboundPublisher inboundPublisher;
+    private final JdbcIdempotentRepository idempotentRepository;
+
+    @Bean
+    public RouteBuilder inboundPipelineRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                // Files picked up by the SFTP routes
+                from("direct:processInboundFile")
+                    .routeId("inbound-file-pipeline")
+                    .noStreamCaching() // stream caching would buffer the whole payload in memory
+                    .process(exchange -> claimCheck(exchange, "sftp"))
+                    .log("Handled ${header.CamelFileName}: ${header.ContentRef}");
+
+                // Messages received by the AS2 routes
+                from("direct:processAs2Message")
+                    .routeId("as2-message-pipeline")
+                    .noStreamCaching()
+                    .process(exchange -> claimCheck(exchange, "as2"))
+                    .log("Handled AS2 message ${header.AS2MessageId}: ${header.ContentRef}");
+
+                // The AS2 server component returns the MDN in the response to the request itself
+                from("direct:generateMDN")
+                    .routeId("as2-mdn")
+                    .log(LoggingLevel.DEBUG, "MDN requested for AS2 message ${header.AS2MessageId}");
+            }
+        };
+    }
+
+    private void claimCheck(Exchange exchange, String source) throws Exception {
+        Message in = exchange.getIn();
+        String fileName = fileNameOf(in, exchange.getExchangeId());
+        Long clientId = in.getHeader(InboundPublisher.CLIENT_ID_HEADER, Long.class);
+
+        StoredContent stored;
+        try (InputStream content = openBody(exchange)) {
+            stored = contentStore.store(content);
+        }
+        // AS2 resends keep their message ID, files their name
+        String messageId = in.getHeader("AS2MessageId", fileName, String.class);
+        String key = String.join(":", String.valueOf(clientId), source, messageId, stored.checksum());
+        if (!idempotentRepository.add(key)) {
+            log.info("Dropping duplicate {} {} for client {}", source, messageId, clientId);
+            contentStore.delete(stored.reference());
+            in.setHeader(DUPLICATE_HEADER, true);
+            in.setHeader(InboundPublisher.CONTENT_REF_HEADER, "duplicate");
+            return;
+        }
+
+        ClaimCheck claimCheck = new ClaimCheck(clientId, in.getHeader(InboundPublisher.INTERFACE_ID_HEADER, Long.class),
+                fileName, stored.reference(), stored.checksum(), stored.size());
+        try {
+            // The key is only final once the broker has the claim check; if the listener stops first,
+            // a resend of the file must not be taken for a duplicate
+            inboundPublisher.publish(claimCheck).whenComplete((confirmed, error) -> {
+                try {
+                    if (error == null) {
+                        idempotentRepository.confirm(key);
+                    } else {
+                        idempotentRepository.remove(key);
+                    }
+                } catch (Exception e) {
+                    log.warn("Could not update idempotent key of {}, it is released after the unconfirmed timeout: {}",
+                            fileName, e.getMessage());
+                }
+            });
+        } catch (Exception e) {
+            // Nobody will claim it; the connector's error handling retries the whole exchange
+            contentStore.delete(stored.reference());
+            idempotentRepository.remove(key);
+            throw e;
+        }
+        in.setHeader(InboundPublisher.CONTENT_REF_HEADER, stored.reference());
+        in.setBody(claimCheck);
+    }
+
+    private static InputStream openBody(Exchange exchange) throws IOException, InvalidPayloadException {
+        Object body = exchange.getIn().getBody();
+        if (body instanceof HttpEntity entity) {
+            // AS2 payloads arrive as MIME entities
+            return entity.getContent();
+        }
+        return exchange.getIn().getMandatoryBody(InputStream.class);
+    }
+
+    private static String fileNameOf(Message in, String exchangeId) {
+        String fileName = in.getHeader(Exchange.FILE_NAME_ONLY, String.class);
+        if (fileName == null) {
+            fileName = in.getHeader(Exchange.FILE_NAME, String.class);
+        }
+        if (fileName == null) {
+            String messageId = in.getHeader("AS2MessageId", String.class);
+            fileName = (messageId != null ? messageId : exchangeId) + ".xml";
+        }
+        return fileName;
+    }
+}
@@ -0,0 +1,57 @@
+package com.middleware.listener.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Publishing of claim checks to the processor with publisher confirms.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "publisher")
+public class PublisherProperties {
+    /**
+     * Messages published but not yet confirmed by the broker. When the window is full, publishing waits.
+     */
+    @Positive
+    private int maxInFlight = 256;
+
+    /**
+     * Time (in milliseconds) publishing waits for room in the window before failing.
+     */
+    @Positive
+    private long windowTimeout = 30000;
+
+    /**
+     * Time (in milliseconds) after which an unconfirmed message is published again.
+     */
+    @Positive
+    private long confirmTimeout = 30000;
+
+    /**
+     * Delay (in milliseconds) before a nacked or returned message is published again.
+     */
+    @Positive
+    private long retryInterval = 5000;
+
+    /**
+     * Time (in milliseconds) allowed at shutdown for outstanding confirms.
+     */
+    @Positive
+    private long shutdownTimeout = 10000;
+
+    public int getMaxInFlight() { return maxInFlight; }
+    public void setMaxInFlight(int maxInFlight) { this.maxInFlight = maxInFlight; }
+
+    public long getWindowTimeout() { return windowTimeout; }
+    public void setWindowTimeout(long windowTimeout) { this.windowTimeout = windowTimeout; }
+
+    public long getConfirmTimeout() { return confirmTimeout; }
+    public void setConfirmTimeout(long confirmTimeout) { this.confirmTimeout = confirmTimeout; }
+
+    public long getRetryInterval() { return retryInterval; }
+    public void setRetryInterval(long retryInterval) { this.retryInterval = retryInterval; }
+
+    public long getShutdownTimeout() { return shutdownTimeout; }
+    public void setShutdownTimeout(long shutdownTimeout) { this.shutdownTimeout = shutdownTimeout; }
+}
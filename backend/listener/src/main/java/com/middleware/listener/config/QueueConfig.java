@@ -82,15 +82,11 @@ public class QueueConfig {
         return executor;
     }
 
-    // Enhanced RabbitTemplate with metrics
+    // Publisher confirms and returns are tracked by InboundPublisher, which also records the metrics
     @Bean
-    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory, MeterRegistry meterRegistry) {
+    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
-        
-        // Add metrics for message publishing
-        meterRegistry.gauge("rabbitmq.messages.published", rabbitTemplate, 
-            template -> template.getMessageConverter().getClass().getSimpleName().length());
-        
+        rabbitTemplate.setMandatory(true);
         return rabbitTemplate;
     }
 } 
\ No newline at end of file
@@ -1,17 +1,28 @@
 package com.middleware.listener.connectors.api.config;
 
+import com.middleware.listener.service.JdbcIdempotentRepository;
+import org.apache.camel.Exchange;
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.model.rest.RestBindingMode;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
 @Configuration
 public class ApiCamelConfig {
+    private static final String MESSAGE_KEY_HEADER = "InboundMessageKey";
+
 
     private final ApiProperties apiProperties;
+    private final JdbcIdempotentRepository idempotentRepository;
 
-    public ApiCamelConfig(ApiProperties apiProperties) {
+    public ApiCamelConfig(ApiProperties apiProperties, JdbcIdempotentRepository idempotentRepository) {
         this.apiProperties = apiProperties;
+        this.idempotentRepository = idempotentRepository;
     }
 
     @Bean
@@ -72,6 +83,9 @@ public class ApiCamelConfig {
                 from("direct:processMessage")
                     .routeId("api-message-processor")
                     .log("Processing message")
+                    // Resent messages are acknowledged but not forwarded again
+                    .process(ApiCamelConfig::setMessageKey)
+                    .idempotentConsumer(header(MESSAGE_KEY_HEADER), idempotentRepository)
                     .choice()
                         .when(simple("${exception} == null"))
                             .to("file:" + apiProperties.getProcessedDirectory())
@@ -88,4 +102,16 @@ public class ApiCamelConfig {
             }
         };
     }
-} 
\ No newline at end of file
+
+    /**
+     * Key of a received message: client, message ID if the caller sent one, and a hash of the content.
+     */
+    private static void setMessageKey(Exchange exchange) throws NoSuchAlgorithmException {
+        String body = exchange.getIn().getBody(String.class);
+        byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest((body != null ? body : "").getBytes(StandardCharsets.UTF_8));
+        exchange.getIn().setHeader(MESSAGE_KEY_HEADER, String.join(":",
+                exchange.getIn().getHeader("ClientId", "", String.class), "api",
+                exchange.getIn().getHeader("X-Message-Id", "", String.class), HexFormat.of().formatHex(digest)));
+    }
+}
@@ -2,9 +2,11 @@ package com.middleware.listener.connectors.as2.config;
 
 import com.middleware.listener.connectors.as2.model.As2Config;
 import com.middleware.listener.connectors.as2.service.As2ConfigService;
+import com.middleware.listener.service.ConnectorConfigChangedEvent;
+import com.middleware.listener.service.RouteReconciler;
+import com.middleware.listener.service.RouteReconciler.DesiredRoutes;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.camel.CamelContext;
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.component.as2.AS2Component;
 import org.apache.camel.component.as2.AS2Configuration;
@@ -15,18 +17,19 @@ import org.apache.camel.support.jsse.SSLContextParameters;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import javax.annotation.PostConstruct;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 @Configuration
 @RequiredArgsConstructor
 @Slf4j
 public class As2CamelConfig {
+    public static final String CONNECTOR = "as2";
+
     private final As2ConfigService as2ConfigService;
-    private final CamelContext camelContext;
+    private final RouteReconciler routeReconciler;
     private final As2Properties as2Properties;
 
     @PostConstruct
@@ -34,59 +37,56 @@ public class As2CamelConfig {
         updateRoutes();
     }
 
-    @Scheduled(fixedDelay = 60000) // Check for config changes every minute
+    @TransactionalEventListener(condition = "#event.connector == 'as2'", fallbackExecution = true)
+    public void onConfigChanged(ConnectorConfigChangedEvent event) {
+        updateRoutes();
+    }
+
+    /**
+     * Reconcile the routes with the active configurations. Only routes whose configuration changed are
+     * recreated; the periodic run picks up changes made outside this instance.
+     */
+    @Scheduled(fixedDelayString = "${listener.routes.resync-interval:300000}",
+            initialDelayString = "${listener.routes.resync-interval:300000}")
     public void updateRoutes() {
-        List<As2Config> activeConfigs = as2ConfigService.getActiveConfigurations();
-        
-        // Remove inactive routes
-        removeInactiveRoutes(activeConfigs);
-        
-        // Add or update routes for active configs
-        for (As2Config config : activeConfigs) {
-            createOrUpdateRoute(config);
-        }
+        List<DesiredRoutes> desired = as2ConfigService.getActiveConfigurations().stream()
+                .map(config -> new DesiredRoutes(buildRouteId(config), fingerprint(config), () -> buildRoutes(config)))
+                .toList();
+        routeReconciler.reconcile(CONNECTOR, desired);
     }
 
-    private void createOrUpdateRoute(As2Config config) {
-        try {
-            String routeId = buildRouteId(config);
-            
-            // Remove existing route if it exists
-            if (camelContext.getRoute(routeId) != null) {
-                camelContext.removeRoute(routeId);
+    private RouteBuilder buildRoutes(As2Config config) {
+        String routeId = buildRouteId(config);
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                // Error handling
+                errorHandler(defaultErrorHandler()
+                    .maximumRedeliveries(3)
+                    .redeliveryDelay(5000)
+                    .backOffMultiplier(2)
+                    .useExponentialBackOff());
+
+                // AS2 Server endpoint to receive messages
+                from(buildAs2Uri(config))
+                    .routeId(routeId)
+                    .noStreamCaching()
+                    .log("Received AS2 message: ${header.AS2MessageId} for client: " + config.getClient().getName())
+                    .setHeader("ClientId", constant(config.getClient().getId()))
+                    .setHeader("InterfaceId", constant(config.getInterfaceConfig().getId()))
+                    .choice()
+                        .when(header("AS2-MDN-Required").isEqualTo(true))
+                            .to("direct:generateMDN")
+                        .end()
+                    .to("direct:processAs2Message")
+                    .log("AS2 message processed: ${header.AS2MessageId}");
             }
+        };
+    }
 
-            // Create new route
-            camelContext.addRoutes(new RouteBuilder() {
-                @Override
-                public void configure() throws Exception {
-                    // Error handling
-                    errorHandler(defaultErrorHandler()
-                        .maximumRedeliveries(3)
-                        .redeliveryDelay(5000)
-                        .backOffMultiplier(2)
-                        .useExponentialBackOff());
-
-                    // AS2 Server endpoint to receive messages
-                    from(buildAs2Uri(config))
-                        .routeId(routeId)
-                        .log("Received AS2 message: ${header.AS2MessageId} for client: " + config.getClient().getName())
-                        .setHeader("ClientId", constant(config.getClient().getId()))
-                        .setHeader("InterfaceId", constant(config.getInterfaceConfig().getId()))
-                        .choice()
-                            .when(header("AS2-MDN-Required").isEqualTo(true))
-                                .to("direct:generateMDN")
-                            .end()
-                        .to("direct:processAs2Message")
-                        .log("AS2 message processed: ${header.AS2MessageId}");
-                }
-            });
-            
-            log.info("Created/Updated AS2 route for client: {} and interface: {}", 
-                    config.getClient().getId(), config.getInterfaceConfig().getId());
-        } catch (Exception e) {
-            log.error("Failed to create/update route for config: " + config.getId(), e);
-        }
+    private String fingerprint(As2Config config) {
+        return RouteReconciler.fingerprint(config.getClient().getId(), config.getClient().getName(),
+                config.getInterfaceConfig().getId(), buildAs2Uri(config));
     }
 
     private String buildRouteId(As2Config config) {
@@ -115,24 +115,6 @@ public class As2CamelConfig {
         return uri.toString();
     }
 
-    private void removeInactiveRoutes(List<As2Config> activeConfigs) {
-        Set<String> activeRouteIds = activeConfigs.stream()
-                .map(this::buildRouteId)
-                .collect(Collectors.toSet());
-
-        camelContext.getRoutes().stream()
-                .filter(route -> route.getId().startsWith("as2-"))
-                .filter(route -> !activeRouteIds.contains(route.getId()))
-                .forEach(route -> {
-                    try {
-                        camelContext.removeRoute(route.getId());
-                        log.info("Removed inactive AS2 route: {}", route.getId());
-                    } catch (Exception e) {
-                        log.error("Failed to remove route: " + route.getId(), e);
-                    }
-                });
-    }
-
     @Bean
     public SSLContextParameters sslContextParameters() {
         KeyStoreParameters keyStoreParameters = new KeyStoreParameters();
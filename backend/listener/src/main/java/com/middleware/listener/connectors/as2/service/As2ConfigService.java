@@ -1,11 +1,14 @@
 package com.middleware.listener.connectors.as2.service;
 
+import com.middleware.listener.connectors.as2.config.As2CamelConfig;
 import com.middleware.listener.connectors.as2.model.As2Config;
 import com.middleware.listener.connectors.as2.repository.As2ConfigRepository;
 import com.middleware.listener.exception.ResourceNotFoundException;
+import com.middleware.listener.service.ConnectorConfigChangedEvent;
 import jakarta.validation.ValidationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +19,7 @@ import java.util.List;
 @Slf4j
 public class As2ConfigService {
     private final As2ConfigRepository as2ConfigRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<As2Config> getAllConfigurations() {
@@ -38,7 +42,9 @@ public class As2ConfigService {
         log.info("Creating new AS2 configuration for client: {} and interface: {}", 
                 config.getClient().getId(), config.getInterfaceConfig().getId());
         validateConfiguration(config);
-        return as2ConfigRepository.save(config);
+        As2Config saved = as2ConfigRepository.save(config);
+        publishChange(saved.getId());
+        return saved;
     }
 
     @Transactional
@@ -63,13 +69,16 @@ public class As2ConfigService {
         existingConfig.setActive(config.isActive());
 
         log.info("Updating AS2 configuration with id: {}", id);
-        return as2ConfigRepository.save(existingConfig);
+        As2Config saved = as2ConfigRepository.save(existingConfig);
+        publishChange(id);
+        return saved;
     }
 
     @Transactional
     public void deleteConfiguration(Long id) {
         log.info("Deleting AS2 configuration with id: {}", id);
         as2ConfigRepository.deleteById(id);
+        publishChange(id);
     }
 
     @Transactional
@@ -77,7 +86,9 @@ public class As2ConfigService {
         As2Config config = getConfiguration(id);
         config.setActive(!config.isActive());
         log.info("Toggling active status for AS2 configuration with id: {} to: {}", id, config.isActive());
-        return as2ConfigRepository.save(config);
+        As2Config saved = as2ConfigRepository.save(config);
+        publishChange(id);
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -114,4 +125,11 @@ public class As2ConfigService {
             throw new ValidationException("Local ID is required");
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * The routes are reconciled once the change is committed.
+     */
+    private void publishChange(Long id) {
+        eventPublisher.publishEvent(new ConnectorConfigChangedEvent(As2CamelConfig.CONNECTOR, id));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.middleware.listener.connectors.sftp.config;
+
+import org.apache.camel.component.file.GenericFile;
+import org.apache.camel.component.file.GenericFileFilter;
+
+/**
+ * Accepts the share of a directory's files that belongs to one of several consumers of it,
+ * by hash of the file name, so the consumers download different files side by side.
+ */
+public class PartitionedFileFilter<T> implements GenericFileFilter<T> {
+    private final int partition;
+    private final int partitions;
+
+    public PartitionedFileFilter(int partition, int partitions) {
+        this.partition = partition;
+        this.partitions = partitions;
+    }
+
+    @Override
+    public boolean accept(GenericFile<T> file) {
+        return file.isDirectory() || Math.floorMod(file.getFileName().hashCode(), partitions) == partition;
+    }
+}
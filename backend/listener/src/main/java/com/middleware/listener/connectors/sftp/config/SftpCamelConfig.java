@@ -1,68 +1,79 @@
 package com.middleware.listener.connectors.sftp.config;
 
+import com.middleware.listener.config.CamelConfig;
 import com.middleware.listener.connectors.sftp.model.SftpConfig;
 import com.middleware.listener.connectors.sftp.service.SftpConfigService;
+import com.middleware.listener.service.ConnectorConfigChangedEvent;
+import com.middleware.listener.service.RouteReconciler;
+import com.middleware.listener.service.RouteReconciler.DesiredRoutes;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.camel.CamelContext;
 import org.apache.camel.builder.RouteBuilder;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import javax.annotation.PostConstruct;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Configuration
 @RequiredArgsConstructor
 @Slf4j
 public class SftpCamelConfig {
+    public static final String CONNECTOR = "sftp";
+    private static final int READ_LOCK_CHECK_INTERVAL = 1000;
+
     private final SftpConfigService sftpConfigService;
-    private final CamelContext camelContext;
+    private final RouteReconciler routeReconciler;
+    private final SftpProperties sftpProperties;
 
     @PostConstruct
     public void initializeRoutes() {
         updateRoutes();
     }
 
-    @Scheduled(fixedDelay = 60000) // Check for config changes every minute
+    @TransactionalEventListener(condition = "#event.connector == 'sftp'", fallbackExecution = true)
+    public void onConfigChanged(ConnectorConfigChangedEvent event) {
+        updateRoutes();
+    }
+
+    /**
+     * Reconcile the routes with the active configurations. Only routes whose configuration changed are
+     * recreated; the periodic run picks up changes made outside this instance.
+     */
+    @Scheduled(fixedDelayString = "${listener.routes.resync-interval:300000}",
+            initialDelayString = "${listener.routes.resync-interval:300000}")
     public void updateRoutes() {
-        List<SftpConfig> activeConfigs = sftpConfigService.getActiveConfigurations();
-        
-        // Remove inactive routes
-        removeInactiveRoutes(activeConfigs);
-        
-        // Add or update routes for active configs
-        for (SftpConfig config : activeConfigs) {
-            createOrUpdateRoute(config);
-        }
+        List<DesiredRoutes> desired = sftpConfigService.getActiveConfigurations().stream()
+                .map(config -> new DesiredRoutes(buildRouteId(config), fingerprint(config), () -> buildRoutes(config)))
+                .toList();
+        routeReconciler.reconcile(CONNECTOR, desired);
     }
 
-    private void createOrUpdateRoute(SftpConfig config) {
-        try {
-            String routeId = buildRouteId(config);
-            
-            // Remove existing route if it exists
-            if (camelContext.getRoute(routeId) != null) {
-                camelContext.removeRoute(routeId);
-            }
+    RouteBuilder buildRoutes(SftpConfig config) {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                // Error handling
+                errorHandler(defaultErrorHandler()
+                    .maximumRedeliveries(config.getRetryAttempts())
+                    .redeliveryDelay(config.getRetryDelay())
+                    .backOffMultiplier(2)
+                    .useExponentialBackOff());
 
-            // Create new route
-            camelContext.addRoutes(new RouteBuilder() {
-                @Override
-                public void configure() throws Exception {
-                    // Error handling
-                    errorHandler(defaultErrorHandler()
-                        .maximumRedeliveries(config.getRetryAttempts())
-                        .redeliveryDelay(config.getRetryDelay())
-                        .backOffMultiplier(2)
-                        .useExponentialBackOff());
-
-                    // Process each monitored directory
-                    for (String directory : config.getMonitoredDirectoriesAsList()) {
-                        from(buildSftpUri(config, directory))
-                            .routeId(routeId + "-" + directory.replace('/', '-'))
+                // Process each monitored directory, with one consumer and SFTP session per thread
+                int partitions = partitionsOf(config);
+                for (String directory : config.getMonitoredDirectoriesAsList()) {
+                    for (int partition = 0; partition < partitions; partition++) {
+                        String partitionRouteId = buildRouteId(config, directory, partition, partitions);
+                        if (partitions > 1) {
+                            getContext().getRegistry().bind(partitionRouteId + "-filter",
+                                new PartitionedFileFilter<>(partition, partitions));
+                        }
+                        from(buildSftpUri(config, directory, partition, partitions))
+                            .routeId(partitionRouteId)
+                            .noStreamCaching()
                             .log("Retrieved file ${header.CamelFileName} from SFTP server for client: " + config.getClient().getName())
                             .setHeader("ClientId", constant(config.getClient().getId()))
                             .setHeader("InterfaceId", constant(config.getInterfaceConfig().getId()))
@@ -70,20 +81,37 @@ public class SftpCamelConfig {
                             .log("Completed processing ${header.CamelFileName}");
                     }
                 }
-            });
-            
-            log.info("Created/Updated SFTP route for client: {} and interface: {}", 
-                    config.getClient().getId(), config.getInterfaceConfig().getId());
-        } catch (Exception e) {
-            log.error("Failed to create/update route for config: " + config.getId(), e);
-        }
+            }
+        };
+    }
+
+    private String fingerprint(SftpConfig config) {
+        return RouteReconciler.fingerprint(config.getClient().getId(), config.getClient().getName(),
+                config.getInterfaceConfig().getId(), config.getRetryAttempts(), config.getRetryDelay(),
+                config.getMonitoredDirectoriesAsList().stream()
+                        .flatMap(directory -> IntStream.range(0, partitionsOf(config))
+                                .mapToObj(partition -> buildSftpUri(config, directory, partition, partitionsOf(config))))
+                        .toList());
+    }
+
+    private static int partitionsOf(SftpConfig config) {
+        return config.getThreadPoolSize() != null ? Math.max(1, config.getThreadPoolSize()) : 1;
     }
 
     private String buildRouteId(SftpConfig config) {
         return String.format("sftp-%d-%d", config.getClient().getId(), config.getInterfaceConfig().getId());
     }
 
-    private String buildSftpUri(SftpConfig config, String directory) {
+    private String buildRouteId(SftpConfig config, String directory, int partition, int partitions) {
+        String routeId = buildRouteId(config) + "-" + directory.replace('/', '-');
+        return partitions > 1 ? routeId + "-" + partition : routeId;
+    }
+
+    /**
+     * The session is kept open between polls. With several partitions each consumer gets its own
+     * session and only the files of its partition, bound in the registry as {@code <routeId>-filter}.
+     */
+    private String buildSftpUri(SftpConfig config, String directory, int partition, int partitions) {
         StringBuilder uri = new StringBuilder();
         uri.append("sftp://").append(config.getUsername());
         if (config.getPassword() != null) {
@@ -95,13 +123,27 @@ public class SftpCamelConfig {
            .append("?delete=false")
            .append("&move=.processed")
            .append("&moveFailed=.error")
+           .append("&streamDownload=true") // the file is spooled to the content store, not held in memory
            .append("&readLock=changed")
-           .append("&readLockTimeout=").append(config.getPollingInterval())
-           .append("&disconnect=true")
+           .append("&readLockCheckInterval=").append(READ_LOCK_CHECK_INTERVAL)
+           .append("&readLockMinAge=5000") // files that haven't changed for a while are locked without waiting
+           .append("&stepwise=false") // no change of directory around every operation
+           .append("&fastExistsCheck=true") // the read lock checks the file alone, not a listing of the directory
+           // Camel requires the timeout to exceed the check interval, short polling intervals don't
+           .append("&readLockTimeout=").append(Math.max(config.getPollingInterval(), 3 * READ_LOCK_CHECK_INTERVAL))
+           .append("&delay=").append(config.getPollingInterval())
+           .append("&maxMessagesPerPoll=").append(sftpProperties.getMaxMessagesPerPoll())
+           .append("&greedy=true") // poll again right away while there are files left
+           .append("&idempotent=true")
+           .append("&idempotentRepository=#").append(CamelConfig.INBOUND_IDEMPOTENT_REPOSITORY)
+           .append("&idempotentKey=").append(buildRouteId(config)).append("-${file:absolute.path}-${file:size}-${file:modified}")
            .append("&maximumReconnectAttempts=").append(config.getRetryAttempts())
            .append("&reconnectDelay=").append(config.getRetryDelay())
-           .append("&connectTimeout=").append(config.getConnectionTimeout())
-           .append("&disconnect=true");
+           .append("&connectTimeout=").append(config.getConnectionTimeout());
+
+        if (partitions > 1) {
+            uri.append("&filter=#").append(buildRouteId(config, directory, partition, partitions)).append("-filter");
+        }
 
         if (config.getPrivateKeyPath() != null) {
             uri.append("&privateKeyFile=").append(config.getPrivateKeyPath());
@@ -112,22 +154,4 @@ public class SftpCamelConfig {
 
         return uri.toString();
     }
-
-    private void removeInactiveRoutes(List<SftpConfig> activeConfigs) {
-        Set<String> activeRouteIds = activeConfigs.stream()
-            .map(this::buildRouteId)
-            .collect(Collectors.toSet());
-
-        camelContext.getRoutes().stream()
-            .filter(route -> route.getId().startsWith("sftp-"))
-            .filter(route -> !activeRouteIds.contains(route.getId()))
-            .forEach(route -> {
-                try {
-                    camelContext.removeRoute(route.getId());
-                    log.info("Removed inactive route: {}", route.getId());
-                } catch (Exception e) {
-                    log.error("Failed to remove route: " + route.getId(), e);
-                }
-            });
-    }
-} 
\ No newline at end of file
+}
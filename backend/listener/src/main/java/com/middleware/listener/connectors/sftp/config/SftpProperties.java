@@ -38,6 +38,9 @@ public class SftpProperties {
     @Positive
     private long retryDelay = 5000;
 
+    @Positive
+    private int maxMessagesPerPoll = 500;
+
     // Getters and Setters
     public String getHost() { return host; }
     public void setHost(String host) { this.host = host; }
@@ -74,4 +77,7 @@ public class SftpProperties {
     
     public long getRetryDelay() { return retryDelay; }
     public void setRetryDelay(long retryDelay) { this.retryDelay = retryDelay; }
+
+    public int getMaxMessagesPerPoll() { return maxMessagesPerPoll; }
+    public void setMaxMessagesPerPoll(int maxMessagesPerPoll) { this.maxMessagesPerPoll = maxMessagesPerPoll; }
 } 
\ No newline at end of file
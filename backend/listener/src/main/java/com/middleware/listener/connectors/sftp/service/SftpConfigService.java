@@ -1,10 +1,13 @@
 package com.middleware.listener.connectors.sftp.service;
 
+import com.middleware.listener.connectors.sftp.config.SftpCamelConfig;
 import com.middleware.listener.connectors.sftp.model.SftpConfig;
 import com.middleware.listener.connectors.sftp.repository.SftpConfigRepository;
 import com.middleware.listener.exception.ResourceNotFoundException;
+import com.middleware.listener.service.ConnectorConfigChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,6 +18,7 @@ import java.util.List;
 @Slf4j
 public class SftpConfigService {
     private final SftpConfigRepository sftpConfigRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<SftpConfig> getAllConfigurations() {
@@ -36,7 +40,9 @@ public class SftpConfigService {
     public SftpConfig createConfiguration(SftpConfig config) {
         log.info("Creating new SFTP configuration for client: {} and interface: {}", 
                 config.getClient().getId(), config.getInterfaceConfig().getId());
-        return sftpConfigRepository.save(config);
+        SftpConfig saved = sftpConfigRepository.save(config);
+        publishChange(saved.getId());
+        return saved;
     }
 
     @Transactional
@@ -62,13 +68,16 @@ public class SftpConfigService {
         existingConfig.setActive(config.isActive());
 
         log.info("Updating SFTP configuration with id: {}", id);
-        return sftpConfigRepository.save(existingConfig);
+        SftpConfig saved = sftpConfigRepository.save(existingConfig);
+        publishChange(id);
+        return saved;
     }
 
     @Transactional
     public void deleteConfiguration(Long id) {
         log.info("Deleting SFTP configuration with id: {}", id);
         sftpConfigRepository.deleteById(id);
+        publishChange(id);
     }
 
     @Transactional
@@ -76,7 +85,9 @@ public class SftpConfigService {
         SftpConfig config = getConfiguration(id);
         config.setActive(!config.isActive());
         log.info("Toggling active status for SFTP configuration with id: {} to: {}", id, config.isActive());
-        return sftpConfigRepository.save(config);
+        SftpConfig saved = sftpConfigRepository.save(config);
+        publishChange(id);
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -95,4 +106,11 @@ public class SftpConfigService {
                 .orElseThrow(() -> new ResourceNotFoundException(
                     String.format("SFTP Configuration not found for client: %d and interface: %d", clientId, interfaceId)));
     }
-} 
\ No newline at end of file
+
+    /**
+     * The routes are reconciled once the change is committed.
+     */
+    private void publishChange(Long id) {
+        eventPublisher.publishEvent(new ConnectorConfigChangedEvent(SftpCamelConfig.CONNECTOR, id));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.middleware.listener.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A received file or message, remembered to recognise resends. Written by {@code JdbcIdempotentRepository}.
+ */
+@Entity
+@Table(name = "inbound_message_ids",
+        indexes = @Index(name = "idx_inbound_message_ids_created_at", columnList = "created_at"))
+@Data
+@NoArgsConstructor
+public class InboundMessageId {
+    @Id
+    @Column(name = "key_hash", length = 64)
+    private String keyHash;
+
+    @Column(name = "message_key", length = 1024, nullable = false)
+    private String messageKey;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "confirmed", nullable = false)
+    private boolean confirmed;
+}
@@ -0,0 +1,15 @@
+package com.middleware.listener.service;
+
+/**
+ * Message published to inbound.processor for a received file. The file itself stays in the content store.
+ *
+ * @param clientId Client the file was received for
+ * @param interfaceId Interface the file is processed with
+ * @param fileName Name of the received file or AS2 message
+ * @param contentRef Reference of the file in the content store
+ * @param checksum SHA-256 of the file, hex encoded
+ * @param size Length of the file in bytes
+ */
+public record ClaimCheck(Long clientId, Long interfaceId, String fileName, String contentRef, String checksum,
+                         long size) {
+}
@@ -1,5 +1,6 @@
 package com.middleware.listener.service;
 
+import com.middleware.listener.config.ContentStoreProperties;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,6 +16,7 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 @Service
 public class CleanupService {
@@ -27,11 +29,16 @@ public class CleanupService {
     private String archiveDirectory;
 
     private final MeterRegistry meterRegistry;
+    private final ContentStore contentStore;
+    private final ContentStoreProperties contentStoreProperties;
     private final AtomicInteger filesDeleted = new AtomicInteger(0);
     private final AtomicInteger filesArchived = new AtomicInteger(0);
 
-    public CleanupService(MeterRegistry meterRegistry) {
+    public CleanupService(MeterRegistry meterRegistry, ContentStore contentStore,
+                          ContentStoreProperties contentStoreProperties) {
         this.meterRegistry = meterRegistry;
+        this.contentStore = contentStore;
+        this.contentStoreProperties = contentStoreProperties;
         // Register metrics
         meterRegistry.gauge("cleanup.files.deleted", filesDeleted);
         meterRegistry.gauge("cleanup.files.archived", filesArchived);
@@ -43,6 +50,7 @@ public class CleanupService {
         
         cleanupDirectory("processed", true);
         cleanupDirectory("error", false);
+        cleanupContentStore();
         
         log.info("Cleanup completed. Deleted: {}, Archived: {}", 
             filesDeleted.get(), filesArchived.get());
@@ -82,6 +90,33 @@ public class CleanupService {
         });
     }
 
+    /**
+     * Delete stored content the processor never claimed, e.g. because its message went to the dead letter queue.
+     */
+    private void cleanupContentStore() {
+        Path directory = contentStore.getDirectory();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        Instant cutoffDate = Instant.now().minus(contentStoreProperties.getRetentionDays(), ChronoUnit.DAYS);
+
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.filter(Files::isRegularFile).forEach(path -> {
+                try {
+                    if (Files.getLastModifiedTime(path).toInstant().isBefore(cutoffDate)) {
+                        deleteFile(path.toFile());
+                    }
+                } catch (Exception e) {
+                    log.error("Error processing stored content {}: {}", path, e.getMessage());
+                    meterRegistry.counter("cleanup.errors").increment();
+                }
+            });
+        } catch (Exception e) {
+            log.error("Error cleaning up content store {}: {}", directory, e.getMessage());
+            meterRegistry.counter("cleanup.errors").increment();
+        }
+    }
+
     private void archiveFile(File file) {
         try {
             File archiveDir = new File(archiveDirectory);
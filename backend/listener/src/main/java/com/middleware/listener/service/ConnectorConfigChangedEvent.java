@@ -0,0 +1,11 @@
+package com.middleware.listener.service;
+
+/**
+ * Published when a connector configuration is created, updated, toggled or deleted, so its routes
+ * are reconciled once the change is committed.
+ *
+ * @param connector The connector type, e.g. "sftp" or "as2"
+ * @param configId The ID of the changed configuration
+ */
+public record ConnectorConfigChangedEvent(String connector, Long configId) {
+}
@@ -0,0 +1,79 @@
+package com.middleware.listener.service;
+
+import com.middleware.listener.config.ContentStoreProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Spools received files to the shared content store, so only a reference to them goes through RabbitMQ.
+ * Content is copied from the input stream to disk in small buffers and hashed on the way, whatever its size.
+ */
+@Service
+@Slf4j
+public class ContentStore {
+    private final Path directory;
+
+    public ContentStore(ContentStoreProperties properties) {
+        this.directory = Path.of(properties.getDirectory()).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Write the stream to a new file of the store. The file only appears under its final name once complete.
+     */
+    public StoredContent store(InputStream content) throws IOException {
+        LocalDate today = LocalDate.now();
+        String reference = String.format("%d/%02d/%02d/%s", today.getYear(), today.getMonthValue(),
+                today.getDayOfMonth(), UUID.randomUUID());
+        Path target = directory.resolve(reference);
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        MessageDigest digest = sha256();
+        long size;
+        try (DigestInputStream in = new DigestInputStream(content, digest)) {
+            size = Files.copy(in, temp);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        String checksum = HexFormat.of().formatHex(digest.digest());
+        log.debug("Stored {} bytes as {}", size, reference);
+        return new StoredContent(reference, checksum, size);
+    }
+
+    /**
+     * Remove a stored file, e.g. when it could not be published.
+     */
+    public void delete(String reference) {
+        try {
+            Files.deleteIfExists(directory.resolve(reference));
+        } catch (IOException e) {
+            log.warn("Could not delete stored content {}: {}", reference, e.getMessage());
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
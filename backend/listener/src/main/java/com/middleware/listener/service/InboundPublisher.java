@@ -0,0 +1,248 @@
+package com.middleware.listener.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.middleware.listener.config.PublisherProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Publishes claim checks of received files to the processor's inbound queue.
+ * The claim is sent as JSON body and repeated in headers, which is what the processor reads.
+ * <p>
+ * Publishing doesn't wait for the broker: each message is tracked until its publisher confirm arrives,
+ * and published again, with the same message ID, when it is nacked, returned as unroutable or not
+ * confirmed in time. The number of unconfirmed messages is bounded; when the window is full,
+ * {@link #publish} waits for confirms and fails if none arrive, so the connector retries the file.
+ * Callers learn of the confirm through the returned future, which fails for messages still unconfirmed
+ * when the publisher stops.
+ */
+@Service
+@Slf4j
+public class InboundPublisher {
+    public static final String EXCHANGE = "middleware.direct";
+    public static final String ROUTING_KEY = "inbound.processor";
+
+    public static final String CLIENT_ID_HEADER = "ClientId";
+    public static final String INTERFACE_ID_HEADER = "InterfaceId";
+    public static final String FILE_NAME_HEADER = "CamelFileName";
+    public static final String CONTENT_REF_HEADER = "ContentRef";
+    public static final String CONTENT_CHECKSUM_HEADER = "ContentChecksum";
+    public static final String CONTENT_LENGTH_HEADER = "ContentLength";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper objectMapper;
+    private final PublisherProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore window;
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    // Confirms complete on the connection's thread, which must not publish; resends run here
+    private final ScheduledExecutorService retryExecutor;
+    private final Timer publishTimer;
+    private final Counter confirmedCounter;
+    private final Counter resentCounter;
+
+    /**
+     * A published message waiting for its confirm; replaced when the message is published again.
+     * The flag is set once a resend is scheduled, so a nack followed by a timeout resends it only once.
+     */
+    private record Pending(Message message, CorrelationData correlation, long sentAt, AtomicBoolean resendScheduled,
+                           CompletableFuture<Void> confirmed) {
+    }
+
+    public InboundPublisher(RabbitTemplate rabbitTemplate, ObjectMapper objectMapper,
+                            PublisherProperties properties, MeterRegistry meterRegistry) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.window = new Semaphore(properties.getMaxInFlight());
+        this.retryExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "publisher-confirms");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.publishTimer = Timer.builder("rabbitmq.publish.latency")
+                .description("Time to hand a message to the broker, without waiting for the confirm")
+                .register(meterRegistry);
+        this.confirmedCounter = meterRegistry.counter("rabbitmq.messages.published", "result", "confirmed");
+        this.resentCounter = meterRegistry.counter("rabbitmq.messages.published", "result", "resent");
+        Gauge.builder("rabbitmq.publish.in.flight", pending, Map::size)
+                .description("Published messages waiting for a confirm")
+                .register(meterRegistry);
+
+        long sweepInterval = Math.max(100, Math.min(1000, properties.getConfirmTimeout() / 2));
+        retryExecutor.scheduleWithFixedDelay(this::resendUnconfirmed, sweepInterval, sweepInterval,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Publish a claim check without waiting for the broker.
+     *
+     * @return Completes once the broker confirmed the message, on the publisher's thread; completes
+     * exceptionally if the publisher stops first
+     */
+    public CompletableFuture<Void> publish(ClaimCheck claimCheck) throws JsonProcessingException {
+        MessageProperties messageProperties = new MessageProperties();
+        messageProperties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        messageProperties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+        messageProperties.setMessageId(UUID.randomUUID().toString());
+        messageProperties.setHeader(CLIENT_ID_HEADER, claimCheck.clientId());
+        messageProperties.setHeader(INTERFACE_ID_HEADER, claimCheck.interfaceId());
+        messageProperties.setHeader(FILE_NAME_HEADER, claimCheck.fileName());
+        messageProperties.setHeader(CONTENT_REF_HEADER, claimCheck.contentRef());
+        messageProperties.setHeader(CONTENT_CHECKSUM_HEADER, claimCheck.checksum());
+        messageProperties.setHeader(CONTENT_LENGTH_HEADER, claimCheck.size());
+        Message message = new Message(objectMapper.writeValueAsBytes(claimCheck), messageProperties);
+
+        try {
+            if (!window.tryAcquire(properties.getWindowTimeout(), TimeUnit.MILLISECONDS)) {
+                throw new AmqpTimeoutException("No publisher confirms received for "
+                        + properties.getWindowTimeout() + " ms, " + pending.size() + " message(s) in flight");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmqpTimeoutException("Interrupted while waiting for publisher confirms");
+        }
+        Pending entry = track(message, new CompletableFuture<>());
+        pending.put(messageProperties.getMessageId(), entry);
+        try {
+            send(entry);
+        } catch (RuntimeException e) {
+            // Not handed to the broker; the caller fails and the connector retries the file
+            if (pending.remove(messageProperties.getMessageId(), entry)) {
+                window.release();
+            }
+            throw e;
+        }
+        log.debug("Published claim check {} for {}", claimCheck.contentRef(), claimCheck.fileName());
+        return entry.confirmed();
+    }
+
+    /**
+     * @return The number of published messages waiting for a confirm
+     */
+    public int getInFlight() {
+        return pending.size();
+    }
+
+    private Pending track(Message message, CompletableFuture<Void> confirmed) {
+        String messageId = message.getMessageProperties().getMessageId();
+        Pending entry = new Pending(message, new CorrelationData(messageId), System.nanoTime(), new AtomicBoolean(),
+                confirmed);
+        entry.correlation().getFuture().whenComplete((confirm, error) -> {
+            String returned = entry.correlation().getReturned() != null
+                    ? entry.correlation().getReturned().getReplyText() : null;
+            if (error == null && confirm.isAck() && returned == null) {
+                confirmed(entry);
+            } else {
+                String reason = error != null ? error.getMessage()
+                        : returned != null ? "returned: " + returned : confirm.getReason();
+                unconfirmed(entry, returned != null ? "returned" : "nack", reason, properties.getRetryInterval());
+            }
+        });
+        return entry;
+    }
+
+    private void send(Pending entry) {
+        publishTimer.record(() -> rabbitTemplate.send(EXCHANGE, ROUTING_KEY, entry.message(), entry.correlation()));
+    }
+
+    private void confirmed(Pending entry) {
+        recordConfirm(entry, "ack");
+        if (pending.remove(entry.correlation().getId(), entry)) {
+            confirmedCounter.increment();
+            window.release();
+            // Not on the connection's thread, callers may block
+            try {
+                retryExecutor.execute(() -> entry.confirmed().complete(null));
+            } catch (RejectedExecutionException e) {
+                entry.confirmed().complete(null);
+            }
+        }
+    }
+
+    private void unconfirmed(Pending entry, String result, String reason, long delay) {
+        if (pending.get(entry.correlation().getId()) != entry || !entry.resendScheduled().compareAndSet(false, true)) {
+            // Already confirmed, superseded by a resend or waiting for one
+            return;
+        }
+        recordConfirm(entry, result);
+        log.warn("Message {} was not confirmed ({}), publishing it again: {}",
+                entry.correlation().getId(), result, reason);
+        retryExecutor.schedule(() -> resend(entry), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void resend(Pending entry) {
+        // Keeps its window permit; the message ID is unchanged so the processor can tell it's a resend
+        Pending retry = track(entry.message(), entry.confirmed());
+        if (!pending.replace(entry.correlation().getId(), entry, retry)) {
+            return;
+        }
+        resentCounter.increment();
+        try {
+            send(retry);
+        } catch (RuntimeException e) {
+            // Left pending, the next sweep publishes it again once it times out
+            log.warn("Could not publish message {} again: {}", retry.correlation().getId(), e.getMessage());
+        }
+    }
+
+    private void resendUnconfirmed() {
+        long timeout = TimeUnit.MILLISECONDS.toNanos(properties.getConfirmTimeout());
+        long now = System.nanoTime();
+        for (Pending entry : pending.values()) {
+            if (now - entry.sentAt() > timeout) {
+                unconfirmed(entry, "timeout", "no confirm after " + properties.getConfirmTimeout() + " ms", 0);
+            }
+        }
+    }
+
+    private void recordConfirm(Pending entry, String result) {
+        Timer.builder("rabbitmq.confirm.latency")
+                .description("Time from publishing a message to its publisher confirm")
+                .tag("result", result)
+                .register(meterRegistry)
+                .record(System.nanoTime() - entry.sentAt(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Wait for the outstanding confirms, resending as needed, before the connection goes away.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getShutdownTimeout());
+        while (!pending.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        retryExecutor.shutdownNow();
+        if (!pending.isEmpty()) {
+            log.warn("Stopping with {} unconfirmed message(s); their files remain in the content store",
+                    pending.size());
+            AmqpTimeoutException stopped = new AmqpTimeoutException("Publisher stopped before the message was confirmed");
+            pending.values().forEach(entry -> entry.confirmed().completeExceptionally(stopped));
+        }
+    }
+}
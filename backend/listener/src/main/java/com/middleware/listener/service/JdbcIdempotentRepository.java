@@ -0,0 +1,184 @@
+package com.middleware.listener.service;
+
+import com.middleware.listener.config.IdempotentProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.support.service.ServiceSupport;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers received files and messages in the inbound_message_ids table, shared by all listener
+ * instances, for the retention period.
+ * <p>
+ * A key is recorded by inserting it; the primary key makes that atomic across instances, so a new key
+ * costs one insert and no lookup. Keys seen recently are kept in an LRU cache in front of the table, so
+ * a resend of a recent file is recognised without a query. The cache only holds confirmed keys;
+ * a key missing from it is always looked up, as another instance may have recorded it.
+ * <p>
+ * A key only becomes final when {@link #confirm} is called, once what it was recorded for has been
+ * handed on. Keys left unconfirmed, e.g. by a crash before the broker confirmed the claim check, stop
+ * blocking resends after the unconfirmed timeout.
+ */
+@Service
+@Slf4j
+public class JdbcIdempotentRepository extends ServiceSupport implements IdempotentRepository {
+    private final JdbcTemplate jdbcTemplate;
+    private final IdempotentProperties properties;
+    private final Map<String, LocalDateTime> recent;
+
+    public JdbcIdempotentRepository(JdbcTemplate jdbcTemplate, IdempotentProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        int cacheSize = properties.getCacheSize();
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LocalDateTime> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Record a key.
+     *
+     * @return false if the key was already recorded, i.e. this is a duplicate
+     */
+    @Override
+    public boolean add(String key) {
+        String hash = hash(key);
+        if (isRecent(hash)) {
+            return false;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            jdbcTemplate.update("INSERT INTO inbound_message_ids (key_hash, message_key, created_at, confirmed) "
+                    + "VALUES (?, ?, ?, FALSE)", hash, truncate(key), Timestamp.valueOf(now));
+        } catch (DuplicateKeyException e) {
+            // Expired and abandoned keys are only removed by the purge; don't let them block a resend
+            int renewed = jdbcTemplate.update("UPDATE inbound_message_ids SET created_at = ?, confirmed = FALSE "
+                    + "WHERE key_hash = ? AND (created_at < ? OR (confirmed = FALSE AND created_at < ?))",
+                    Timestamp.valueOf(now), hash, Timestamp.valueOf(cutoff()), Timestamp.valueOf(unconfirmedCutoff()));
+            if (renewed == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(String key) {
+        String hash = hash(key);
+        if (isRecent(hash)) {
+            return true;
+        }
+        return Boolean.TRUE.equals(jdbcTemplate.query(
+                "SELECT created_at, confirmed FROM inbound_message_ids WHERE key_hash = ?", rs -> {
+                    if (!rs.next()) {
+                        return false;
+                    }
+                    LocalDateTime createdAt = rs.getTimestamp(1).toLocalDateTime();
+                    if (!rs.getBoolean(2)) {
+                        return !createdAt.isBefore(unconfirmedCutoff());
+                    }
+                    if (createdAt.isBefore(cutoff())) {
+                        return false;
+                    }
+                    remember(hash, createdAt);
+                    return true;
+                }, hash));
+    }
+
+    /**
+     * Forget a key, e.g. when what it was recorded for failed and may be received again.
+     */
+    @Override
+    public boolean remove(String key) {
+        String hash = hash(key);
+        synchronized (recent) {
+            recent.remove(hash);
+        }
+        return jdbcTemplate.update("DELETE FROM inbound_message_ids WHERE key_hash = ?", hash) > 0;
+    }
+
+    /**
+     * Make a recorded key final, e.g. once the claim check of the file has been confirmed by the broker.
+     */
+    @Override
+    public boolean confirm(String key) {
+        String hash = hash(key);
+        boolean confirmed = jdbcTemplate.update("UPDATE inbound_message_ids SET confirmed = TRUE WHERE key_hash = ?",
+                hash) > 0;
+        if (confirmed) {
+            remember(hash, LocalDateTime.now());
+        }
+        return confirmed;
+    }
+
+    @Override
+    public void clear() {
+        synchronized (recent) {
+            recent.clear();
+        }
+        jdbcTemplate.update("DELETE FROM inbound_message_ids");
+    }
+
+    /**
+     * Delete the keys older than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${idempotent.purge-interval:3600000}")
+    public void purgeExpired() {
+        int deleted = jdbcTemplate.update("DELETE FROM inbound_message_ids WHERE created_at < ?",
+                Timestamp.valueOf(cutoff()));
+        if (deleted > 0) {
+            log.info("Purged {} expired inbound message id(s)", deleted);
+        }
+    }
+
+    private boolean isRecent(String hash) {
+        LocalDateTime createdAt;
+        synchronized (recent) {
+            createdAt = recent.get(hash);
+        }
+        return createdAt != null && !createdAt.isBefore(cutoff());
+    }
+
+    private void remember(String hash, LocalDateTime createdAt) {
+        // Only confirmed keys, an unconfirmed one may still be abandoned
+        synchronized (recent) {
+            recent.put(hash, createdAt);
+        }
+    }
+
+    private LocalDateTime cutoff() {
+        return LocalDateTime.now().minusDays(properties.getRetentionDays());
+    }
+
+    private LocalDateTime unconfirmedCutoff() {
+        return LocalDateTime.now().minusNanos(properties.getUnconfirmedTimeout() * 1_000_000);
+    }
+
+    private static String truncate(String key) {
+        return key.length() > 1024 ? key.substring(0, 1024) : key;
+    }
+
+    private static String hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.middleware.listener.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.CamelContext;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.model.RouteDefinition;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Brings the Camel routes of a connector in line with its active configurations, touching only
+ * routes whose configuration changed. Unchanged routes keep running, with their sessions and polls.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RouteReconciler {
+    private final CamelContext camelContext;
+
+    /** Routes deployed per connector and key. */
+    private final Map<String, Map<String, DeployedRoutes>> deployed = new HashMap<>();
+
+    /**
+     * The routes a configuration should have.
+     *
+     * @param key Identifies the configuration's routes within the connector
+     * @param fingerprint Changes whenever anything the routes are built from changes
+     * @param builder Builds the routes, called only when they have to be (re)created
+     */
+    public record DesiredRoutes(String key, String fingerprint, Supplier<RouteBuilder> builder) {
+    }
+
+    private record DeployedRoutes(String fingerprint, List<String> routeIds) {
+    }
+
+    /**
+     * Add the routes of new configurations, rebuild those whose fingerprint changed and remove
+     * those of configurations no longer desired.
+     *
+     * @param connector The connector the routes belong to; routes of other connectors are left alone
+     */
+    public synchronized void reconcile(String connector, Collection<DesiredRoutes> desired) {
+        Map<String, DeployedRoutes> current = deployed.computeIfAbsent(connector, c -> new HashMap<>());
+        Map<String, DesiredRoutes> wanted = new HashMap<>();
+        for (DesiredRoutes routes : desired) {
+            wanted.put(routes.key(), routes);
+        }
+        int added = 0;
+        int updated = 0;
+        int removed = 0;
+
+        for (String key : new ArrayList<>(current.keySet())) {
+            if (!wanted.containsKey(key)) {
+                removeRoutes(current.remove(key));
+                removed++;
+            }
+        }
+        for (DesiredRoutes routes : wanted.values()) {
+            DeployedRoutes existing = current.get(routes.key());
+            if (existing != null && existing.fingerprint().equals(routes.fingerprint())) {
+                continue;
+            }
+            if (existing != null) {
+                removeRoutes(existing);
+                current.remove(routes.key());
+            }
+            RouteBuilder builder = routes.builder().get();
+            try {
+                camelContext.addRoutes(builder);
+                current.put(routes.key(), new DeployedRoutes(routes.fingerprint(), routeIdsOf(builder)));
+                if (existing != null) {
+                    updated++;
+                } else {
+                    added++;
+                }
+            } catch (Exception e) {
+                // Not recorded as deployed, so the next reconciliation tries again from scratch
+                log.error("Failed to create routes {}", routes.key(), e);
+                removeRoutes(new DeployedRoutes(routes.fingerprint(), routeIdsOf(builder).stream()
+                        .filter(routeId -> camelContext.getRoute(routeId) != null)
+                        .toList()));
+            }
+        }
+
+        if (added + updated + removed > 0) {
+            log.info("Reconciled {} routes: {} added, {} updated, {} removed, {} unchanged", connector,
+                    added, updated, removed, current.size() - added - updated);
+        }
+    }
+
+    /**
+     * Fingerprint of the values routes are built from.
+     */
+    public static String fingerprint(Object... values) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object value : values) {
+                digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static List<String> routeIdsOf(RouteBuilder builder) {
+        return builder.getRouteCollection().getRoutes().stream()
+                .map(RouteDefinition::getRouteId)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private void removeRoutes(DeployedRoutes routes) {
+        for (String routeId : routes.routeIds()) {
+            try {
+                camelContext.getRouteController().stopRoute(routeId);
+                camelContext.removeRoute(routeId);
+                log.info("Removed route: {}", routeId);
+            } catch (Exception e) {
+                log.error("Failed to remove route: " + routeId, e);
+            }
+        }
+    }
+}
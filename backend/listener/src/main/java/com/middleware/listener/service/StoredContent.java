@@ -0,0 +1,11 @@
+package com.middleware.listener.service;
+
+/**
+ * A file written to the content store.
+ *
+ * @param reference Path of the file relative to the store directory
+ * @param checksum SHA-256 of the content, hex encoded
+ * @param size Length of the content in bytes
+ */
+public record StoredContent(String reference, String checksum, long size) {
+}
@@ -0,0 +1,7 @@
+CREATE TABLE inbound_message_ids (
+    key_hash CHAR(64) PRIMARY KEY,
+    message_key VARCHAR(1024) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_inbound_message_ids_created_at ON inbound_message_ids(created_at);
@@ -0,0 +1,3 @@
+-- Keys are final once the claim check of the file is confirmed by the broker
+ALTER TABLE inbound_message_ids ADD COLUMN confirmed BOOLEAN NOT NULL DEFAULT FALSE;
+UPDATE inbound_message_ids SET confirmed = TRUE;
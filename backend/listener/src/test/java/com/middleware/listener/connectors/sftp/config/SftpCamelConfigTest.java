@@ -0,0 +1,210 @@
+package com.middleware.listener.connectors.sftp.config;
+
+import com.middleware.listener.config.CamelConfig;
+import com.middleware.listener.config.ContentStoreProperties;
+import com.middleware.listener.config.InboundPipelineConfig;
+import com.middleware.listener.connectors.sftp.model.SftpConfig;
+import com.middleware.listener.model.Client;
+import com.middleware.listener.model.Interface;
+import com.middleware.listener.service.ClaimCheck;
+import com.middleware.listener.service.ContentStore;
+import com.middleware.listener.service.InboundPublisher;
+import com.middleware.listener.service.JdbcIdempotentRepository;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.processor.idempotent.MemoryIdempotentRepository;
+import org.apache.sshd.common.file.virtualfs.VirtualFileSystemFactory;
+import org.apache.sshd.common.session.Session;
+import org.apache.sshd.common.session.SessionListener;
+import org.apache.sshd.server.SshServer;
+import org.apache.sshd.server.keyprovider.SimpleGeneratorHostKeyProvider;
+import org.apache.sshd.sftp.server.DirectoryHandle;
+import org.apache.sshd.sftp.server.SftpFileSystemAccessor;
+import org.apache.sshd.sftp.server.SftpSubsystemFactory;
+import org.apache.sshd.sftp.server.SftpSubsystemProxy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.CopyOption;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the partitioned SFTP consumers of one directory against an embedded SFTP server.
+ */
+class SftpCamelConfigTest {
+
+    private static final int FILES = 40;
+    private static final int CONSUMERS = 4;
+
+    @TempDir
+    Path root;
+
+    private SshServer sshd;
+    private DefaultCamelContext camelContext;
+    private final AtomicInteger sessions = new AtomicInteger();
+    private final Map<String, Integer> published = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        sshd = SshServer.setUpDefaultServer();
+        sshd.setPort(0);
+        sshd.setKeyPairProvider(new SimpleGeneratorHostKeyProvider(root.resolve("hostkey.ser")));
+        sshd.setPasswordAuthenticator((username, password, session) -> true);
+        sshd.setSubsystemFactories(List.of(sftpSubsystemFactory()));
+        sshd.setFileSystemFactory(new VirtualFileSystemFactory(Files.createDirectories(root.resolve("sftp"))));
+        sshd.addSessionListener(new SessionListener() {
+            @Override
+            public void sessionCreated(Session session) {
+                sessions.incrementAndGet();
+            }
+        });
+        sshd.start();
+
+        InboundPublisher publisher = mock(InboundPublisher.class);
+        when(publisher.publish(any())).thenAnswer(invocation -> {
+            published.merge(invocation.<ClaimCheck>getArgument(0).fileName(), 1, Integer::sum);
+            return CompletableFuture.completedFuture(null);
+        });
+        JdbcIdempotentRepository idempotentRepository = mock(JdbcIdempotentRepository.class);
+        when(idempotentRepository.add(anyString())).thenReturn(true);
+        ContentStoreProperties contentStoreProperties = new ContentStoreProperties();
+        contentStoreProperties.setDirectory(root.resolve("store").toString());
+
+        camelContext = new DefaultCamelContext();
+        camelContext.getRegistry().bind(CamelConfig.INBOUND_IDEMPOTENT_REPOSITORY,
+                MemoryIdempotentRepository.memoryIdempotentRepository(1000));
+        camelContext.addRoutes(new InboundPipelineConfig(new ContentStore(contentStoreProperties), publisher,
+                idempotentRepository).inboundPipelineRouteBuilder());
+        camelContext.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        camelContext.stop();
+        sshd.stop(true);
+    }
+
+    @Test
+    void partitionsPublishEachFileOnceOverOneSessionPerConsumer() throws Exception {
+        Path inbound = Files.createDirectories(root.resolve("sftp/inbound"));
+        // Older than the read lock's minimum age, so they are picked up right away
+        FileTime modified = FileTime.fromMillis(System.currentTimeMillis() - 60000);
+        Set<String> fileNames = IntStream.range(0, FILES).mapToObj(i -> "asn-" + i + ".xml").collect(Collectors.toSet());
+        for (String fileName : fileNames) {
+            Files.setLastModifiedTime(Files.writeString(inbound.resolve(fileName), "<asn/>"), modified);
+        }
+
+        SftpCamelConfig sftpCamelConfig = new SftpCamelConfig(null, null, new SftpProperties());
+        camelContext.addRoutes(sftpCamelConfig.buildRoutes(sftpConfig()));
+
+        Path processed = inbound.resolve(".processed");
+        await().atMost(Duration.ofSeconds(60)).until(() -> list(processed).size() == FILES);
+
+        assertThat(published).containsOnlyKeys(fileNames);
+        assertThat(published.values()).containsOnly(1);
+        assertThat(list(processed)).isEqualTo(fileNames);
+        assertThat(list(inbound)).containsOnly(".processed");
+        assertThat(camelContext.getRoutes()).filteredOn(route -> route.getId().startsWith("sftp-")).hasSize(CONSUMERS);
+        assertThat(sessions).hasValue(CONSUMERS);
+    }
+
+    /**
+     * OpenSSH skips directory entries that vanish while they are read, MINA fails the listing, and the
+     * consumer reconnects. Moves wait for open listings so consumers of other partitions can't cause that.
+     */
+    private static SftpSubsystemFactory sftpSubsystemFactory() {
+        ReadWriteLock listing = new ReentrantReadWriteLock(true);
+        SftpSubsystemFactory factory = new SftpSubsystemFactory();
+        factory.setFileSystemAccessor(new SftpFileSystemAccessor() {
+            @Override
+            public DirectoryStream<Path> openDirectory(SftpSubsystemProxy subsystem, DirectoryHandle dirHandle,
+                                                       Path dir, String handle, LinkOption... linkOptions)
+                    throws IOException {
+                listing.readLock().lock();
+                try {
+                    return SftpFileSystemAccessor.super.openDirectory(subsystem, dirHandle, dir, handle, linkOptions);
+                } catch (IOException | RuntimeException e) {
+                    listing.readLock().unlock();
+                    throw e;
+                }
+            }
+
+            @Override
+            public void closeDirectory(SftpSubsystemProxy subsystem, DirectoryHandle dirHandle, Path dir,
+                                       String handle, DirectoryStream<Path> ds) throws IOException {
+                try {
+                    SftpFileSystemAccessor.super.closeDirectory(subsystem, dirHandle, dir, handle, ds);
+                } finally {
+                    listing.readLock().unlock();
+                }
+            }
+
+            @Override
+            public void renameFile(SftpSubsystemProxy subsystem, Path oldPath, Path newPath,
+                                   Collection<CopyOption> opts) throws IOException {
+                listing.writeLock().lock();
+                try {
+                    SftpFileSystemAccessor.super.renameFile(subsystem, oldPath, newPath, opts);
+                } finally {
+                    listing.writeLock().unlock();
+                }
+            }
+        });
+        return factory;
+    }
+
+    private SftpConfig sftpConfig() {
+        Client client = new Client();
+        client.setId(1L);
+        client.setName("acme");
+        Interface interfaceConfig = new Interface();
+        interfaceConfig.setId(2L);
+
+        SftpConfig config = new SftpConfig();
+        config.setClient(client);
+        config.setInterfaceConfig(interfaceConfig);
+        config.setHost("localhost");
+        config.setPort(sshd.getPort());
+        config.setUsername("partner");
+        config.setPassword("secret");
+        config.setMonitoredDirectoriesFromList(List.of("/inbound"));
+        config.setThreadPoolSize(CONSUMERS);
+        config.setPollingInterval(500);
+        return config;
+    }
+
+    private static Set<String> list(Path directory) throws Exception {
+        if (!Files.isDirectory(directory)) {
+            return Set.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).collect(Collectors.toSet());
+        }
+    }
+}
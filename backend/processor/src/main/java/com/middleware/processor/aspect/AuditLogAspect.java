@@ -3,7 +3,7 @@ package com.middleware.processor.aspect;
 import com.middleware.processor.annotation.AuditLog;
 import com.middleware.processor.model.AuditLogEntry;
 import com.middleware.processor.model.AuditLogLevel;
-import com.middleware.processor.service.interfaces.AuditLogService;
+import com.middleware.processor.service.audit.AuditLogWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -21,7 +21,7 @@ import java.time.LocalDateTime;
 @Component
 @RequiredArgsConstructor
 public class AuditLogAspect {
-    private final AuditLogService auditLogService;
+    private final AuditLogWriter auditLogWriter;
 
     @Around("@annotation(com.middleware.processor.annotation.AuditLog)")
     public Object logAudit(ProceedingJoinPoint joinPoint) throws Throwable {
@@ -55,7 +55,7 @@ public class AuditLogAspect {
                 entry.setError(exception.getMessage());
             }
 
-            auditLogService.saveAuditLog(entry);
+            auditLogWriter.submit(entry);
         }
     }
 } 
@@ -2,8 +2,8 @@ package com.middleware.processor.aspect;
 
 import com.middleware.processor.model.AuditLog;
 import com.middleware.processor.model.Client;
-import com.middleware.processor.repository.AuditLogRepository;
 import com.middleware.processor.repository.ClientRepository;
+import com.middleware.processor.service.audit.AuditLogWriter;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
@@ -17,7 +17,7 @@ import org.springframework.stereotype.Component;
 public class ClientServiceAspect {
     
     @Autowired
-    private AuditLogRepository auditLogRepository;
+    private AuditLogWriter auditLogWriter;
     
     @Autowired
     private ClientRepository clientRepository;
@@ -38,7 +38,7 @@ public class ClientServiceAspect {
         log.setEntityId(savedClient.getId());
         log.setDetails("Client " + action.toLowerCase() + "d: " + savedClient.getName());
         
-        auditLogRepository.save(log);
+        auditLogWriter.submit(log);
         
         return savedClient;
     }
@@ -59,7 +59,7 @@ public class ClientServiceAspect {
         log.setEntityId(clientId);
         log.setDetails("Client deleted: " + clientName);
         
-        auditLogRepository.save(log);
+        auditLogWriter.submit(log);
         
         return joinPoint.proceed();
     }
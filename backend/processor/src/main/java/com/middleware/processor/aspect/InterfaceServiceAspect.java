@@ -2,8 +2,8 @@ package com.middleware.processor.aspect;
 
 import com.middleware.processor.model.AuditLog;
 import com.middleware.processor.model.Interface;
-import com.middleware.processor.repository.AuditLogRepository;
 import com.middleware.processor.repository.InterfaceRepository;
+import com.middleware.processor.service.audit.AuditLogWriter;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
@@ -19,7 +19,7 @@ import org.springframework.stereotype.Component;
 public class InterfaceServiceAspect {
     
     @Autowired
-    private AuditLogRepository auditLogRepository;
+    private AuditLogWriter auditLogWriter;
     
     @Autowired
     private InterfaceRepository interfaceRepository;
@@ -49,11 +49,11 @@ public class InterfaceServiceAspect {
                     log.setEntityId(createdInterface.getId());
                     log.setDetails("Interface created successfully: " + createdInterface.getName());
                 }
-                auditLogRepository.save(log);
+                auditLogWriter.submit(log);
                 return result;
             } catch (Throwable e) {
                 log.setErrorMessage(e.getMessage());
-                auditLogRepository.save(log);
+                auditLogWriter.submit(log);
                 throw e;
             }
         }
@@ -86,11 +86,11 @@ public class InterfaceServiceAspect {
                     Interface updatedInterface = (Interface) result;
                     log.setDetails("Interface updated successfully: " + updatedInterface.getName());
                 }
-                auditLogRepository.save(log);
+                auditLogWriter.submit(log);
                 return result;
             } catch (Throwable e) {
                 log.setErrorMessage(e.getMessage());
-                auditLogRepository.save(log);
+                auditLogWriter.submit(log);
                 throw e;
             }
         }
@@ -111,7 +111,7 @@ public class InterfaceServiceAspect {
             log.setClientId(interfaceEntity.getClient().getId());
             log.setDetails("Interface deleted: " + interfaceEntity.getName() + " for client: " + interfaceEntity.getClient().getName());
             
-            auditLogRepository.save(log);
+            auditLogWriter.submit(log);
         });
     }
     
@@ -2,8 +2,8 @@ package com.middleware.processor.aspect;
 
 import com.middleware.processor.model.AuditLog;
 import com.middleware.processor.model.User;
-import com.middleware.processor.repository.AuditLogRepository;
 import com.middleware.processor.repository.UserRepository;
+import com.middleware.processor.service.audit.AuditLogWriter;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
@@ -18,7 +18,7 @@ import java.util.Optional;
 public class UserServiceAspect {
     
     @Autowired
-    private AuditLogRepository auditLogRepository;
+    private AuditLogWriter auditLogWriter;
     
     @Autowired
     private UserRepository userRepository;
@@ -38,11 +38,11 @@ public class UserServiceAspect {
             User createdUser = (User) joinPoint.proceed();
             log.setEntityId(createdUser.getId());
             log.setDetails("User created successfully: " + createdUser.getUsername());
-            auditLogRepository.save(log);
+            auditLogWriter.submit(log);
             return createdUser;
         } catch (Throwable e) {
             log.setErrorMessage(e.getMessage());
-            auditLogRepository.save(log);
+            auditLogWriter.submit(log);
             throw e;
         }
     }
@@ -66,11 +66,11 @@ public class UserServiceAspect {
                 User updatedUser = (User) ((Optional<?>) result).get();
                 log.setDetails("User updated successfully: " + updatedUser.getUsername());
             }
-            auditLogRepository.save(log);
+            auditLogWriter.submit(log);
             return result;
         } catch (Throwable e) {
             log.setErrorMessage(e.getMessage());
-            auditLogRepository.save(log);
+            auditLogWriter.submit(log);
             throw e;
         }
     }
@@ -93,11 +93,11 @@ public class UserServiceAspect {
         
         try {
             Object result = joinPoint.proceed();
-            auditLogRepository.save(log);
+            auditLogWriter.submit(log);
             return result;
         } catch (Throwable e) {
             log.setErrorMessage(e.getMessage());
-            auditLogRepository.save(log);
+            auditLogWriter.submit(log);
             throw e;
         }
     }
@@ -121,11 +121,11 @@ public class UserServiceAspect {
             boolean success = (boolean) joinPoint.proceed();
             log.setDetails("Password " + (success ? "changed successfully" : "change failed") + 
                          " for user: " + username);
-            auditLogRepository.save(log);
+            auditLogWriter.submit(log);
             return success;
         } catch (Throwable e) {
             log.setErrorMessage(e.getMessage());
-            auditLogRepository.save(log);
+            auditLogWriter.submit(log);
             throw e;
         }
     }
@@ -148,11 +148,11 @@ public class UserServiceAspect {
         try {
             Object result = joinPoint.proceed();
             log.setDetails("Password reset successful for user: " + username);
-            auditLogRepository.save(log);
+            auditLogWriter.submit(log);
             return result;
         } catch (Throwable e) {
             log.setErrorMessage(e.getMessage());
-            auditLogRepository.save(log);
+            auditLogWriter.submit(log);
             throw e;
         }
     }
@@ -0,0 +1,40 @@
+package com.middleware.processor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "asn.processing")
+@Getter
+@Setter
+public class AsnProcessingConfig {
+    /**
+     * Ingestion mode for ASN documents: "dom", "streaming" or "auto".
+     * In auto mode files at or above the streaming threshold are read with the StAX engine.
+     */
+    private String mode = "auto";
+
+    /**
+     * File size (in bytes) from which auto mode switches to streaming ingestion.
+     */
+    private long streamingThreshold = 1024 * 1024; // 1MB default
+
+    /**
+     * Number of mapped ASN lines handed to the ASN service at once in streaming mode.
+     */
+    private int lineBatchSize = 500;
+
+    /**
+     * Maximum file size (in bytes) whose normalized content is kept on the processed file record
+     * in streaming mode. Larger files are processed without storing their content.
+     */
+    private long contentCaptureLimit = 1024 * 1024 * 10; // 10MB default
+
+    /**
+     * Expected line count from which ASN lines are loaded with PostgreSQL COPY instead of
+     * JPA batch inserts. Ignored on other databases; 0 disables COPY loading.
+     */
+    private long copyThreshold = 5000;
+}
@@ -0,0 +1,42 @@
+package com.middleware.processor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "audit.retention")
+@Getter
+@Setter
+public class AuditRetentionConfig {
+    /**
+     * Whether old audit records are removed on schedule.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Days audit records are kept. Monthly partitions are dropped once their whole month is older.
+     */
+    private int retentionDays = 30;
+
+    /**
+     * Cron expression of the retention job.
+     */
+    private String cron = "0 0 0 * * *";
+
+    /**
+     * Rows removed per delete statement on tables that aren't partitioned.
+     */
+    private int chunkSize = 5000;
+
+    /**
+     * Pause (in milliseconds) between delete chunks, giving other transactions and replication room.
+     */
+    private long chunkPause = 50;
+
+    /**
+     * Monthly partitions created ahead of the current month on PostgreSQL.
+     */
+    private int premadeMonths = 2;
+}
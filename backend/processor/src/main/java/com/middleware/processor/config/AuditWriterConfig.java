@@ -0,0 +1,60 @@
+package com.middleware.processor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "audit.writer")
+@Getter
+@Setter
+public class AuditWriterConfig {
+    /**
+     * Whether audit records are written in the background. When disabled they are written
+     * on the caller's thread, one insert per record.
+     */
+    private boolean async = true;
+
+    /**
+     * Audit records buffered in memory while waiting to be written.
+     */
+    private int bufferSize = 8192;
+
+    /**
+     * Maximum records inserted per batch.
+     */
+    private int batchSize = 200;
+
+    /**
+     * Time (in milliseconds) the writer waits for records before checking whether it should stop.
+     */
+    private long flushInterval = 1000;
+
+    /**
+     * What to do with a record when the buffer is full.
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.CALLER_RUNS;
+
+    /**
+     * Time (in milliseconds) a caller waits for room in the buffer with the BLOCK policy
+     * before the record is dropped.
+     */
+    private long blockTimeout = 100;
+
+    /**
+     * Time (in milliseconds) allowed to write the buffered records at shutdown.
+     */
+    private long shutdownTimeout = 10000;
+
+    public enum OverflowPolicy {
+        /** Drop the record being submitted. */
+        DROP_NEWEST,
+        /** Drop the oldest buffered record to make room. */
+        DROP_OLDEST,
+        /** Wait up to block-timeout for room, then drop the record. */
+        BLOCK,
+        /** Write the record on the caller's thread. */
+        CALLER_RUNS
+    }
+}
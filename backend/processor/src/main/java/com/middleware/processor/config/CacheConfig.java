@@ -1,40 +1,100 @@
 package com.middleware.processor.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.middleware.processor.service.cache.BroadcastingCaffeineCacheManager;
+import com.middleware.processor.service.cache.CacheInvalidationPublisher;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.Arrays;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Configuration class for caching in the application.
- * Defines cache names and cache manager configuration.
+ * Defines cache names and bounded Caffeine caches sized from the "cache" properties.
+ * Every cache records statistics, which are published as cache.gets, cache.puts and cache.evictions metrics.
+ * Evictions are broadcast to the other processor replicas, see {@link CacheInvalidationConfig}.
  */
 @Configuration
 @EnableCaching
+@ConfigurationProperties(prefix = "cache")
+@Getter
+@Setter
 public class CacheConfig {
-    
+
+    private static final List<String> CACHE_NAMES = List.of(
+        "clients",
+        "interfaces",
+        "mappingRules",
+        "processedFiles",
+        "users",
+        "userDetails",
+        "auditLogs",
+        "asnHeaders",
+        "asnLines",
+        "xsdSchemas"
+    );
+
+    /**
+     * Bounds of caches without their own entry in {@link #caches}.
+     */
+    private CacheSpec defaults = new CacheSpec();
+
+    /**
+     * Bounds per cache name.
+     */
+    private Map<String, CacheSpec> caches = new LinkedHashMap<>();
+
     /**
      * Creates a cache manager with predefined cache names.
      *
+     * @param invalidationPublisher Publisher of evictions to the other replicas
      * @return The configured CacheManager
      */
     @Bean
-    public CacheManager cacheManager() {
-        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
-        cacheManager.setCacheNames(Arrays.asList(
-            "clients",
-            "interfaces",
-            "mappingRules",
-            "processedFiles",
-            "users",
-            "auditLogs",
-            "asnHeaders",
-            "asnLines",
-            "xsdSchemas"
-        ));
+    public CacheManager cacheManager(CacheInvalidationPublisher invalidationPublisher) {
+        BroadcastingCaffeineCacheManager cacheManager = new BroadcastingCaffeineCacheManager(invalidationPublisher);
+        // Caches requested by name at runtime get the default bounds
+        cacheManager.setCaffeine(builder(defaults));
+
+        Set<String> names = new LinkedHashSet<>(CACHE_NAMES);
+        names.addAll(caches.keySet());
+        for (String name : names) {
+            cacheManager.registerCustomCache(name, builder(caches.getOrDefault(name, defaults)).build());
+        }
         return cacheManager;
     }
-} 
+
+    private static Caffeine<Object, Object> builder(CacheSpec spec) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+            .maximumSize(spec.getMaximumSize())
+            .recordStats();
+        if (spec.getExpireAfterWrite() != null && !spec.getExpireAfterWrite().isZero()) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        return builder;
+    }
+
+    @Getter
+    @Setter
+    public static class CacheSpec {
+        /**
+         * Maximum number of entries; the least recently used are evicted beyond it.
+         */
+        private long maximumSize = 1000;
+
+        /**
+         * Time after which an entry expires, 0 to keep entries until evicted.
+         */
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+    }
+}
@@ -0,0 +1,58 @@
+package com.middleware.processor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Broadcast of cache evictions between processor replicas.
+ * Every replica binds its own auto-deleted queue to the topic exchange, so each eviction reaches all of them.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "cache.invalidation")
+@Getter
+@Setter
+public class CacheInvalidationConfig {
+    /**
+     * Whether evictions are broadcast to and received from other replicas.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Topic exchange the evictions are published on.
+     */
+    private String exchange = "middleware.topic";
+
+    /**
+     * Routing key of eviction messages.
+     */
+    private String routingKey = "processor.cache.invalidate";
+
+    @Bean
+    @ConditionalOnProperty(prefix = "cache.invalidation", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public Queue cacheInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "cache.invalidation", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public TopicExchange middlewareTopicExchange() {
+        return new TopicExchange(exchange);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "cache.invalidation", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public Binding cacheInvalidationBinding() {
+        return BindingBuilder.bind(cacheInvalidationQueue())
+                .to(middlewareTopicExchange())
+                .with(routingKey);
+    }
+}
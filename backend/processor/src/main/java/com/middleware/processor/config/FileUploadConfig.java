@@ -0,0 +1,28 @@
+package com.middleware.processor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "file.upload")
+@Getter
+@Setter
+public class FileUploadConfig {
+    /**
+     * Whether uploads are processed asynchronously when the request doesn't say.
+     * Async uploads are answered with 202 Accepted and the processed file ID.
+     */
+    private boolean asyncByDefault = false;
+
+    /**
+     * Directory async uploads are spooled to until they have been processed.
+     */
+    private String spoolDirectory = "./data/spool";
+
+    /**
+     * Timeout (in milliseconds) of processing status event streams.
+     */
+    private long statusStreamTimeout = 5 * 60 * 1000; // 5 minutes default
+}
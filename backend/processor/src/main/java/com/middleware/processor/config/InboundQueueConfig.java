@@ -0,0 +1,107 @@
+package com.middleware.processor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Consumer side of the inbound.processor queue the listener publishes received files to.
+ * The queue and exchanges are declared with the same arguments as the listener, so either side can start first.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "inbound.queue")
+@ConditionalOnProperty(prefix = "inbound.queue", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Getter
+@Setter
+public class InboundQueueConfig {
+    /**
+     * Whether this instance consumes the inbound queue.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Name of the queue to consume.
+     */
+    private String name = "inbound.processor";
+
+    /**
+     * Unacknowledged messages a consumer may hold; keep it low, a message may be a whole file.
+     */
+    private int prefetch = 5;
+
+    /**
+     * Consumers started per instance.
+     */
+    private int concurrency = 2;
+
+    /**
+     * Upper bound the consumer count may grow to under load.
+     */
+    private int maxConcurrency = 5;
+
+    /**
+     * Directory shared with the listener where claim-checked files are stored.
+     */
+    private String contentStore = "./data/content-store";
+
+    @Bean
+    public Queue inboundProcessorQueue() {
+        return QueueBuilder.durable(name)
+                .withArgument("x-dead-letter-exchange", "middleware.dlx")
+                .withArgument("x-dead-letter-routing-key", name + ".dlq")
+                .build();
+    }
+
+    @Bean
+    public Queue inboundProcessorDeadLetterQueue() {
+        return QueueBuilder.durable(name + ".dlq").build();
+    }
+
+    @Bean
+    public DirectExchange middlewareDirectExchange() {
+        return new DirectExchange("middleware.direct");
+    }
+
+    @Bean
+    public DirectExchange middlewareDeadLetterExchange() {
+        return new DirectExchange("middleware.dlx");
+    }
+
+    @Bean
+    public Binding inboundProcessorBinding() {
+        return BindingBuilder.bind(inboundProcessorQueue())
+                .to(middlewareDirectExchange())
+                .with(name);
+    }
+
+    @Bean
+    public Binding inboundProcessorDeadLetterBinding() {
+        return BindingBuilder.bind(inboundProcessorDeadLetterQueue())
+                .to(middlewareDeadLetterExchange())
+                .with(name + ".dlq");
+    }
+
+    @Bean(name = "inboundListenerContainerFactory")
+    public SimpleRabbitListenerContainerFactory inboundListenerContainerFactory(ConnectionFactory connectionFactory) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        factory.setPrefetchCount(prefetch);
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(Math.max(concurrency, maxConcurrency));
+        // Rejected messages go to the dead letter queue instead of looping
+        factory.setDefaultRequeueRejected(false);
+        return factory;
+    }
+}
@@ -0,0 +1,65 @@
+package com.middleware.processor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "security.rate-limit")
+@Getter
+@Setter
+public class RateLimitConfig {
+    /**
+     * Whether requests to the policies' paths are rate limited; login attempts are always limited.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Interval (in milliseconds) at which idle buckets are removed.
+     */
+    private long sweepInterval = 60000;
+
+    /**
+     * Policies by name, e.g. "login", "upload" and "api".
+     */
+    private Map<String, Policy> policies = new LinkedHashMap<>();
+
+    /**
+     * Policy overrides per client ID and policy name.
+     */
+    private Map<Long, Map<String, Policy>> clients = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Policy {
+        /**
+         * Number of requests allowed at once; the bucket refills to this over one period.
+         */
+        private int capacity = 60;
+
+        /**
+         * Time in which a full bucket is refilled.
+         */
+        private Duration period = Duration.ofMinutes(1);
+
+        /**
+         * Request paths (Ant patterns) the policy applies to; empty for policies applied in code.
+         */
+        private List<String> paths = new ArrayList<>();
+
+        public Policy() {
+        }
+
+        public Policy(int capacity, Duration period) {
+            this.capacity = capacity;
+            this.period = period;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.middleware.processor.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.security.token-blacklist")
+@Getter
+@Setter
+public class TokenBlacklistConfig {
+    /**
+     * Where revoked tokens are shared: "in-memory" keeps them on this instance only,
+     * "jdbc" stores them in the database so every replica sees them.
+     */
+    private String store = "in-memory";
+
+    /**
+     * Number of concurrently revoked tokens the Bloom filter is sized for.
+     * The filter is rebuilt larger if more tokens are revoked.
+     */
+    private int expectedTokens = 100_000;
+
+    /**
+     * False positive rate of the Bloom filter; false positives only cost a map lookup.
+     */
+    private double falsePositiveRate = 0.001;
+
+    /**
+     * Duration (in milliseconds) of one timer wheel tick, the precision of expiry eviction.
+     */
+    private long wheelTick = 1000;
+
+    /**
+     * Number of buckets of the timer wheel.
+     */
+    private int wheelSize = 512;
+
+    /**
+     * Interval (in milliseconds) at which tokens revoked on other replicas are loaded from the shared store.
+     */
+    private long syncInterval = 5000;
+}
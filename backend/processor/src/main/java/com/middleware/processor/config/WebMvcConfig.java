@@ -0,0 +1,35 @@
+package com.middleware.processor.config;
+
+import com.middleware.processor.security.RateLimitInterceptor;
+import com.middleware.processor.security.RateLimiter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the rate limit policies on the request paths they are configured for.
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitConfig rateLimitConfig;
+
+    public WebMvcConfig(RateLimiter rateLimiter, RateLimitConfig rateLimitConfig) {
+        this.rateLimiter = rateLimiter;
+        this.rateLimitConfig = rateLimitConfig;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!rateLimitConfig.isEnabled()) {
+            return;
+        }
+        rateLimitConfig.getPolicies().forEach((name, policy) -> {
+            if (!policy.getPaths().isEmpty()) {
+                registry.addInterceptor(new RateLimitInterceptor(rateLimiter, name))
+                        .addPathPatterns(policy.getPaths());
+            }
+        });
+    }
+}
@@ -40,4 +40,19 @@ public class XmlValidationConfig {
      * Maximum memory size for XML parsing (in bytes).
      */
     private long maxMemorySize = 1024 * 1024 * 10; // 10MB default
+
+    /**
+     * Maximum number of compiled XSD schemas kept in memory.
+     */
+    private int schemaCacheSize = 100;
+
+    /**
+     * Whether to compile the schemas of all active interfaces at startup.
+     */
+    private boolean precompileSchemas = true;
+
+    /**
+     * Number of errors after which validation of a document stops, 0 for no limit.
+     */
+    private int maxValidationErrors = 100;
 } 
@@ -1,9 +1,12 @@
 package com.middleware.processor.controller;
 
+import com.middleware.processor.dto.KeysetCursor;
+import com.middleware.processor.dto.KeysetSlice;
 import com.middleware.processor.model.AuditLog;
 import com.middleware.processor.service.interfaces.AuditLogService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -36,6 +39,24 @@ public class AuditLogController {
         return ResponseEntity.ok(auditLogService.getAuditLogs(pageRequest));
     }
 
+    /**
+     * List audit logs newest first, one slice at a time. Pass the returned {@code next} cursor
+     * as {@code after} to get the following slice.
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<KeysetSlice<AuditLog>> getAuditLogsAfter(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) Long clientId,
+            @RequestParam(required = false) String action) {
+
+        Slice<AuditLog> auditLogs = auditLogService.getAuditLogsAfter(
+            KeysetCursor.parse(after), KeysetSlice.limitSize(size), username, clientId, action);
+        return ResponseEntity.ok(KeysetSlice.of(auditLogs,
+            auditLog -> KeysetCursor.of(auditLog.getCreatedAt(), auditLog.getId())));
+    }
+
     @GetMapping("/username/{username}")
     public ResponseEntity<Page<AuditLog>> getAuditLogsByUsername(
             @PathVariable String username,
@@ -104,7 +104,8 @@ public class AuthController {
             String username = jwtService.extractUsername(request.getRefreshToken());
             UserDetails userDetails = userDetailsService.loadUserByUsername(username);
             
-            if (jwtService.isTokenValid(request.getRefreshToken(), userDetails)) {
+            if (!jwtBlacklistService.isBlacklisted(request.getRefreshToken())
+                    && jwtService.isTokenValid(request.getRefreshToken(), userDetails)) {
                 String newToken = jwtService.generateToken(userDetails);
                 String newRefreshToken = jwtService.generateRefreshToken(userDetails);
                 
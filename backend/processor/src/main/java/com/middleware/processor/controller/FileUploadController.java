@@ -1,15 +1,26 @@
 package com.middleware.processor.controller;
 
+import com.middleware.processor.config.FileUploadConfig;
 import com.middleware.processor.dto.ProcessedFileDTO;
+import com.middleware.processor.dto.ProcessedFileSummary;
 import com.middleware.processor.mapper.ProcessedFileMapper;
 import com.middleware.processor.model.ProcessedFile;
+import com.middleware.processor.service.interfaces.ProcessedFileService;
 import com.middleware.processor.service.interfaces.XmlProcessorService;
+import com.middleware.processor.service.upload.ProcessingStatusEmitters;
+import com.middleware.processor.service.upload.ProcessingStatusEvent;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/files")
@@ -17,40 +28,78 @@ public class FileUploadController {
 
     private final XmlProcessorService xmlProcessorService;
     private final ProcessedFileMapper processedFileMapper;
+    private final ProcessedFileService processedFileService;
+    private final ProcessingStatusEmitters processingStatusEmitters;
+    private final FileUploadConfig fileUploadConfig;
 
-    public FileUploadController(XmlProcessorService xmlProcessorService, ProcessedFileMapper processedFileMapper) {
+    public FileUploadController(XmlProcessorService xmlProcessorService, ProcessedFileMapper processedFileMapper,
+                                ProcessedFileService processedFileService, ProcessingStatusEmitters processingStatusEmitters,
+                                FileUploadConfig fileUploadConfig) {
         this.xmlProcessorService = xmlProcessorService;
         this.processedFileMapper = processedFileMapper;
+        this.processedFileService = processedFileService;
+        this.processingStatusEmitters = processingStatusEmitters;
+        this.fileUploadConfig = fileUploadConfig;
     }
 
+    /**
+     * Upload a file for processing. In async mode the file is queued and 202 is returned right away
+     * with the record to poll on /{id}/status or follow on /{id}/events.
+     */
     @PostMapping("/upload/{interfaceId}")
     public ResponseEntity<ProcessedFileDTO> uploadFile(
             @RequestParam("file") MultipartFile file,
-            @PathVariable Long interfaceId) {
+            @PathVariable Long interfaceId,
+            @RequestParam(name = "async", required = false) Boolean async) throws IOException {
+        if (async != null ? async : fileUploadConfig.isAsyncByDefault()) {
+            try {
+                ProcessedFile processedFile = xmlProcessorService.submitXmlFile(file, interfaceId);
+                return ResponseEntity.accepted().body(processedFileMapper.toDTO(processedFile));
+            } catch (RejectedExecutionException e) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+            }
+        }
         ProcessedFile processedFile = xmlProcessorService.processXmlFileAsync(file, interfaceId).join();
         return ResponseEntity.ok(processedFileMapper.toDTO(processedFile));
     }
 
+    @GetMapping("/{id}/status")
+    public ResponseEntity<ProcessedFileDTO> getProcessingStatus(@PathVariable Long id) {
+        return processedFileService.getProcessedFileById(id)
+            .map(processedFile -> ResponseEntity.ok(processedFileMapper.toDTO(processedFile)))
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamProcessingStatus(@PathVariable Long id) {
+        return processedFileService.getProcessedFileById(id)
+            .map(processedFile -> ResponseEntity.ok(processingStatusEmitters.subscribe(
+                new ProcessingStatusEvent(id, processedFile.getStatus(), processedFile.getErrorMessage()))))
+            .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/processed")
-    public ResponseEntity<Page<ProcessedFile>> getProcessedFiles(
+    public ResponseEntity<Page<ProcessedFileSummary>> getProcessedFiles(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "processedAt") String sortBy,
             @RequestParam(defaultValue = "DESC") String sortDirection) {
         Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
         PageRequest pageRequest = PageRequest.of(page, size, sort);
-        return ResponseEntity.ok(xmlProcessorService.getProcessedFiles(pageRequest));
+        return ResponseEntity.ok(processedFileService.getProcessedFileSummaries(
+            null, null, "SUCCESS", null, null, null, pageRequest));
     }
 
     @GetMapping("/errors")
-    public ResponseEntity<Page<ProcessedFile>> getErrorFiles(
+    public ResponseEntity<Page<ProcessedFileSummary>> getErrorFiles(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "processedAt") String sortBy,
             @RequestParam(defaultValue = "DESC") String sortDirection) {
         Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
         PageRequest pageRequest = PageRequest.of(page, size, sort);
-        return ResponseEntity.ok(xmlProcessorService.getErrorFiles(pageRequest));
+        return ResponseEntity.ok(processedFileService.getProcessedFileSummaries(
+            null, null, "ERROR", null, null, null, pageRequest));
     }
 
     @PostMapping("/reprocess/{fileId}")
@@ -1,14 +1,25 @@
 package com.middleware.processor.controller;
 
+import com.middleware.processor.dto.KeysetCursor;
+import com.middleware.processor.dto.KeysetSlice;
+import com.middleware.processor.dto.ProcessedFileSummary;
 import com.middleware.processor.model.ProcessedFile;
 import com.middleware.processor.service.interfaces.ProcessedFileService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
@@ -22,11 +33,14 @@ public class ProcessedFileController {
         this.processedFileService = processedFileService;
     }
 
+    /**
+     * List processed files without their content; fetch it from /{id}/content. All given filters apply.
+     */
     @GetMapping
-    public ResponseEntity<Page<ProcessedFile>> getProcessedFiles(
+    public ResponseEntity<Page<ProcessedFileSummary>> getProcessedFiles(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "processedDate") String sortBy,
+            @RequestParam(defaultValue = "processedAt") String sortBy,
             @RequestParam(defaultValue = "desc") String direction,
             @RequestParam(required = false) String fileNameFilter,
             @RequestParam(required = false) String statusFilter,
@@ -35,11 +49,30 @@ public class ProcessedFileController {
             @RequestParam(required = false) Long clientId,
             @RequestParam(required = false) Long interfaceId) {
         
-        Page<ProcessedFile> processedFiles = processedFileService.getProcessedFiles(
-            page, size, sortBy, direction, fileNameFilter, statusFilter, startDate, endDate, clientId, interfaceId);
+        Page<ProcessedFileSummary> processedFiles = processedFileService.getProcessedFileSummaries(
+            clientId, interfaceId, statusFilter, fileNameFilter, startDate, endDate, pageRequest(page, size, sortBy, direction));
         return ResponseEntity.ok(processedFiles);
     }
 
+    /**
+     * List processed files newest first, one slice at a time. Pass the returned {@code next} cursor
+     * as {@code after} to get the following slice; unlike page numbers this stays fast however deep
+     * the client scrolls, and no total count is computed.
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<KeysetSlice<ProcessedFileSummary>> getProcessedFilesAfter(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) Long clientId,
+            @RequestParam(required = false) Long interfaceId,
+            @RequestParam(required = false) String status) {
+
+        Slice<ProcessedFileSummary> processedFiles = processedFileService.getProcessedFilesAfter(
+            KeysetCursor.parse(after), KeysetSlice.limitSize(size), clientId, interfaceId, status);
+        return ResponseEntity.ok(KeysetSlice.of(processedFiles,
+            file -> KeysetCursor.of(file.processedAt(), file.id())));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ProcessedFile> getProcessedFile(@PathVariable Long id) {
         Optional<ProcessedFile> fileOpt = processedFileService.getProcessedFileById(id);
@@ -47,6 +80,24 @@ public class ProcessedFileController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Download the content of a processed file. It is streamed from the database to the response.
+     */
+    @GetMapping("/{id}/content")
+    public ResponseEntity<StreamingResponseBody> getProcessedFileContent(@PathVariable Long id) {
+        return processedFileService.getProcessedFileSummary(id)
+            .map(summary -> ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.APPLICATION_XML, StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                    .filename(summary.fileName()).build().toString())
+                .body((StreamingResponseBody) out -> {
+                    Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+                    processedFileService.writeContent(id, writer);
+                    writer.flush();
+                }))
+            .orElse(ResponseEntity.notFound().build());
+    }
+
     @PostMapping
     public ResponseEntity<ProcessedFile> createProcessedFile(@RequestBody ProcessedFile processedFile) {
         return ResponseEntity.ok(processedFileService.createProcessedFile(processedFile));
@@ -64,90 +115,89 @@ public class ProcessedFileController {
     }
 
     @GetMapping("/client/{clientId}")
-    public ResponseEntity<Page<ProcessedFile>> getProcessedFilesByClient(
+    public ResponseEntity<Page<ProcessedFileSummary>> getProcessedFilesByClient(
             @PathVariable Long clientId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "processedDate") String sortBy,
+            @RequestParam(defaultValue = "processedAt") String sortBy,
             @RequestParam(defaultValue = "desc") String direction) {
         
-        Sort.Direction sortDirection = Sort.Direction.fromString(direction.toUpperCase());
-        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
-        Page<ProcessedFile> processedFiles = processedFileService.getProcessedFilesByClient(clientId, pageRequest);
+        PageRequest pageRequest = pageRequest(page, size, sortBy, direction);
+        Page<ProcessedFileSummary> processedFiles = processedFileService.getProcessedFileSummaries(clientId, null, null, null, null, null, pageRequest);
         return ResponseEntity.ok(processedFiles);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Page<ProcessedFile>> searchProcessedFiles(
+    public ResponseEntity<Page<ProcessedFileSummary>> searchProcessedFiles(
             @RequestParam String fileName,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "processedDate") String sortBy,
+            @RequestParam(defaultValue = "processedAt") String sortBy,
             @RequestParam(defaultValue = "desc") String direction) {
         
-        Sort.Direction sortDirection = Sort.Direction.fromString(direction.toUpperCase());
-        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
-        Page<ProcessedFile> processedFiles = processedFileService.searchProcessedFiles(fileName, pageRequest);
+        PageRequest pageRequest = pageRequest(page, size, sortBy, direction);
+        Page<ProcessedFileSummary> processedFiles = processedFileService.getProcessedFileSummaries(null, null, null, fileName, null, null, pageRequest);
         return ResponseEntity.ok(processedFiles);
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<Page<ProcessedFile>> getProcessedFilesByStatus(
+    public ResponseEntity<Page<ProcessedFileSummary>> getProcessedFilesByStatus(
             @PathVariable String status,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "processedDate") String sortBy,
+            @RequestParam(defaultValue = "processedAt") String sortBy,
             @RequestParam(defaultValue = "desc") String direction) {
         
-        Sort.Direction sortDirection = Sort.Direction.fromString(direction.toUpperCase());
-        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
-        Page<ProcessedFile> processedFiles = processedFileService.getProcessedFilesByStatus(status, pageRequest);
+        PageRequest pageRequest = pageRequest(page, size, sortBy, direction);
+        Page<ProcessedFileSummary> processedFiles = processedFileService.getProcessedFileSummaries(null, null, status, null, null, null, pageRequest);
         return ResponseEntity.ok(processedFiles);
     }
 
     @GetMapping("/date-range")
-    public ResponseEntity<Page<ProcessedFile>> getProcessedFilesByDateRange(
+    public ResponseEntity<Page<ProcessedFileSummary>> getProcessedFilesByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "processedDate") String sortBy,
+            @RequestParam(defaultValue = "processedAt") String sortBy,
             @RequestParam(defaultValue = "desc") String direction) {
         
-        Sort.Direction sortDirection = Sort.Direction.fromString(direction.toUpperCase());
-        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
-        Page<ProcessedFile> processedFiles = processedFileService.getProcessedFilesByDateRange(startDate, endDate, pageRequest);
+        PageRequest pageRequest = pageRequest(page, size, sortBy, direction);
+        Page<ProcessedFileSummary> processedFiles = processedFileService.getProcessedFileSummaries(null, null, null, null, startDate, endDate, pageRequest);
         return ResponseEntity.ok(processedFiles);
     }
 
     @GetMapping("/client/{clientId}/status/{status}")
-    public ResponseEntity<Page<ProcessedFile>> getProcessedFilesByClientAndStatus(
+    public ResponseEntity<Page<ProcessedFileSummary>> getProcessedFilesByClientAndStatus(
             @PathVariable Long clientId,
             @PathVariable String status,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "processedDate") String sortBy,
+            @RequestParam(defaultValue = "processedAt") String sortBy,
             @RequestParam(defaultValue = "desc") String direction) {
         
-        Sort.Direction sortDirection = Sort.Direction.fromString(direction.toUpperCase());
-        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
-        Page<ProcessedFile> processedFiles = processedFileService.getProcessedFilesByClientAndStatus(clientId, status, pageRequest);
+        PageRequest pageRequest = pageRequest(page, size, sortBy, direction);
+        Page<ProcessedFileSummary> processedFiles = processedFileService.getProcessedFileSummaries(clientId, null, status, null, null, null, pageRequest);
         return ResponseEntity.ok(processedFiles);
     }
 
     @GetMapping("/client/{clientId}/date-range")
-    public ResponseEntity<Page<ProcessedFile>> getProcessedFilesByClientAndDateRange(
+    public ResponseEntity<Page<ProcessedFileSummary>> getProcessedFilesByClientAndDateRange(
             @PathVariable Long clientId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "processedDate") String sortBy,
+            @RequestParam(defaultValue = "processedAt") String sortBy,
             @RequestParam(defaultValue = "desc") String direction) {
         
-        Sort.Direction sortDirection = Sort.Direction.fromString(direction.toUpperCase());
-        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
-        Page<ProcessedFile> processedFiles = processedFileService.getProcessedFilesByClientAndDateRange(clientId, startDate, endDate, pageRequest);
+        PageRequest pageRequest = pageRequest(page, size, sortBy, direction);
+        Page<ProcessedFileSummary> processedFiles = processedFileService.getProcessedFileSummaries(clientId, null, null, null, startDate, endDate, pageRequest);
         return ResponseEntity.ok(processedFiles);
     }
-} 
+
+    private static PageRequest pageRequest(int page, int size, String sortBy, String direction) {
+        Sort.Direction sortDirection = Sort.Direction.fromString(direction.toUpperCase());
+        return PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
+    }
+}
\ No newline at end of file
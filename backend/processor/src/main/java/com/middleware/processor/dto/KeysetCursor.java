@@ -0,0 +1,63 @@
+package com.middleware.processor.dto;
+
+import com.middleware.processor.exception.ValidationException;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Position in a list sorted newest first by a timestamp and then by ID, written as {@code <timestamp>,<id>},
+ * e.g. {@code 2024-03-01T12:30:00.123,4711}. The next slice starts right after the row it points at,
+ * so fetching it costs an index seek however deep the client has scrolled.
+ */
+@Getter
+@EqualsAndHashCode
+public final class KeysetCursor {
+
+    /**
+     * Cursor before the first row, for the first slice.
+     */
+    public static final KeysetCursor START = new KeysetCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private final LocalDateTime timestamp;
+    private final long id;
+
+    private KeysetCursor(LocalDateTime timestamp, long id) {
+        this.timestamp = timestamp;
+        this.id = id;
+    }
+
+    public static KeysetCursor of(LocalDateTime timestamp, Long id) {
+        return new KeysetCursor(timestamp, id);
+    }
+
+    /**
+     * Parse a cursor sent by a client.
+     *
+     * @param value The cursor, or null or blank for the first slice
+     * @return The cursor, {@link #START} if none was given
+     * @throws ValidationException if the cursor is malformed
+     */
+    public static KeysetCursor parse(String value) {
+        if (value == null || value.isBlank()) {
+            return START;
+        }
+        int separator = value.lastIndexOf(',');
+        if (separator < 0) {
+            throw new ValidationException("Invalid cursor '" + value + "', expected <timestamp>,<id>");
+        }
+        try {
+            return new KeysetCursor(LocalDateTime.parse(value.substring(0, separator).trim()),
+                Long.parseLong(value.substring(separator + 1).trim()));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new ValidationException("Invalid cursor '" + value + "', expected <timestamp>,<id>");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return timestamp + "," + id;
+    }
+}
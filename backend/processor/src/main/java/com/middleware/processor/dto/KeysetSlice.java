@@ -0,0 +1,55 @@
+package com.middleware.processor.dto;
+
+import lombok.Getter;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One slice of a list paged by cursor, without a total count.
+ * Clients ask for the next slice by passing {@code next} back as the {@code after} parameter.
+ */
+@Getter
+public class KeysetSlice<T> {
+
+    /**
+     * Largest slice a client may ask for.
+     */
+    public static final int MAX_SIZE = 1000;
+
+    private final List<T> content;
+    private final int size;
+    private final boolean hasNext;
+
+    /**
+     * Cursor of the last row of this slice, or null if there are no more rows.
+     */
+    private final String next;
+
+    private KeysetSlice(List<T> content, int size, boolean hasNext, String next) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.next = next;
+    }
+
+    /**
+     * Limit a requested slice size to 1..{@link #MAX_SIZE}.
+     */
+    public static int limitSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    /**
+     * @param slice The rows fetched
+     * @param cursor The cursor of a row, e.g. {@link KeysetCursor} or its ID
+     */
+    public static <T> KeysetSlice<T> of(Slice<T> slice, Function<T, ?> cursor) {
+        List<T> content = slice.getContent();
+        String next = slice.hasNext() && !content.isEmpty()
+            ? String.valueOf(cursor.apply(content.get(content.size() - 1)))
+            : null;
+        return new KeysetSlice<>(content, content.size(), slice.hasNext(), next);
+    }
+}
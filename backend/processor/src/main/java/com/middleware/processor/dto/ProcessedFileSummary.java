@@ -0,0 +1,24 @@
+package com.middleware.processor.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+
+/**
+ * Processed file without its content, for list views.
+ * Selected with a constructor expression so the XML content column is never read;
+ * the JSON matches the entity's, where the interface and client are written as their IDs.
+ *
+ * @see com.middleware.processor.repository.ProcessedFileRepository#SUMMARY
+ */
+public record ProcessedFileSummary(
+        Long id,
+        String fileName,
+        String status,
+        String errorMessage,
+        @JsonProperty("interfaceEntity") Long interfaceId,
+        @JsonProperty("client") Long clientId,
+        LocalDateTime processedAt,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
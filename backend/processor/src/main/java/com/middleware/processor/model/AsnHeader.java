@@ -10,10 +10,16 @@ import java.math.BigDecimal;
 
 @Entity
 @Table(name = "asn_headers")
-@AttributeOverride(name = "id", column = @Column(name = "asn_id"))
 @Getter
 @Setter
-public class AsnHeader extends BaseEntity {
+public class AsnHeader extends ClientScopedEntity {
+
+    // Pooled sequence instead of identity so inserts can be batched
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "asnHeaderSeq")
+    @SequenceGenerator(name = "asnHeaderSeq", sequenceName = "asn_headers_seq", allocationSize = 50)
+    @Column(name = "asn_id")
+    private Long id;
 
     @Column(name = "status", nullable = false)
     private String status = "NEW";
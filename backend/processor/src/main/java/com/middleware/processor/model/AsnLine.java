@@ -8,10 +8,16 @@ import java.util.Date;
 
 @Entity
 @Table(name = "asn_lines")
-@AttributeOverride(name = "id", column = @Column(name = "line_id"))
 @Getter
 @Setter
-public class AsnLine extends BaseEntity {
+public class AsnLine extends ClientScopedEntity {
+
+    // Pooled sequence instead of identity so inserts can be batched
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "asnLineSeq")
+    @SequenceGenerator(name = "asnLineSeq", sequenceName = "asn_lines_seq", allocationSize = 50)
+    @Column(name = "line_id")
+    private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "header_asn_id", nullable = false)
@@ -1,56 +1,18 @@
 package com.middleware.processor.model;
 
-import com.middleware.processor.config.ClientContextHolder;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.UpdateTimestamp;
-
-import java.time.LocalDateTime;
 
 @MappedSuperclass
 @Getter
 @Setter
 @NoArgsConstructor
-public abstract class BaseEntity {
+public abstract class BaseEntity extends ClientScopedEntity {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id")
     private Long id;
-
-
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "client_id")
-    private Client client;
-
-    @CreationTimestamp
-    @Column(name = "created_at", nullable = false, updatable = false)
-    private LocalDateTime createdAt;
-
-    @UpdateTimestamp
-    @Column(name = "updated_at", nullable = false)
-    private LocalDateTime updatedAt;
-
-    @PrePersist
-    protected void onCreate() {
-        createdAt = LocalDateTime.now();
-        updatedAt = LocalDateTime.now();
-        
-        // Set client from context if not explicitly set
-        if (client == null && ClientContextHolder.getClient() != null) {
-            client = ClientContextHolder.getClient();
-        }
-    }
-    
-    @PreUpdate
-    protected void onUpdate() {
-        updatedAt = LocalDateTime.now();
-    }
-    
-    public Long getClientId() {
-        return client != null ? client.getId() : null;
-    }
 } 
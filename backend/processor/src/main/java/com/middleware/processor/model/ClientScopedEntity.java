@@ -0,0 +1,59 @@
+package com.middleware.processor.model;
+
+import com.middleware.processor.config.ClientContextHolder;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Client ownership and timestamps shared by all entities.
+ * The identifier mapping is left to subclasses: {@link BaseEntity} uses identity columns,
+ * while bulk-inserted entities such as ASN headers and lines use pooled sequences.
+ */
+@MappedSuperclass
+@Getter
+@Setter
+@NoArgsConstructor
+public abstract class ClientScopedEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "client_id")
+    private Client client;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public abstract Long getId();
+
+    public abstract void setId(Long id);
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+        
+        // Set client from context if not explicitly set
+        if (client == null && ClientContextHolder.getClient() != null) {
+            client = ClientContextHolder.getClient();
+        }
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    public Long getClientId() {
+        return client != null ? client.getId() : null;
+    }
+} 
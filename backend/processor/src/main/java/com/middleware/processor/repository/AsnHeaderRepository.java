@@ -3,6 +3,7 @@ package com.middleware.processor.repository;
 import com.middleware.processor.model.AsnHeader;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -19,6 +20,8 @@ public interface AsnHeaderRepository extends JpaRepository<AsnHeader, Long> {
     
     @Query("SELECT h FROM AsnHeader h WHERE h.client.id = ?1")
     Page<AsnHeader> findByClient_Id(Long clientId, Pageable pageable);
+
+    Slice<AsnHeader> findByClient_IdAndIdGreaterThanOrderByIdAsc(Long clientId, Long afterId, Pageable pageable);
     
     @Query("SELECT h FROM AsnHeader h WHERE h.asnNumber = ?1 AND h.client.id = ?2")
     Optional<AsnHeader> findByAsnNumberAndClient_Id(String asnNumber, Long clientId);
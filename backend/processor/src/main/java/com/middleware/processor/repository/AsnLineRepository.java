@@ -3,6 +3,7 @@ package com.middleware.processor.repository;
 import com.middleware.processor.model.AsnLine;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -16,6 +17,10 @@ import java.util.Optional;
 public interface AsnLineRepository extends JpaRepository<AsnLine, Long> {
     
     Page<AsnLine> findByHeader_Id(Long headerId, Pageable pageable);
+
+    Slice<AsnLine> findByHeader_IdAndIdGreaterThanOrderByIdAsc(Long headerId, Long afterId, Pageable pageable);
+
+    Slice<AsnLine> findByClient_IdAndIdGreaterThanOrderByIdAsc(Long clientId, Long afterId, Pageable pageable);
     
     Page<AsnLine> findByClient_Id(Long clientId, Pageable pageable);
     
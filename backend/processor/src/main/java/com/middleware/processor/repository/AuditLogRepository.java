@@ -3,6 +3,7 @@ package com.middleware.processor.repository;
 import com.middleware.processor.model.AuditLog;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -22,6 +23,24 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     Page<AuditLog> findByUsernameAndCreatedAtBetween(String username, LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
     Page<AuditLog> findByClientIdAndCreatedAtBetween(Long clientId, LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
     Page<AuditLog> findByResponseStatus(Integer status, Pageable pageable);
+
+    /**
+     * Find audit logs after a cursor, newest first, without counting them.
+     * Pass a pageable sorted by createdAt and id descending; filters are optional.
+     */
+    @Query("SELECT a FROM AuditLog a WHERE " +
+           "(:username IS NULL OR a.username = :username) AND " +
+           "(:clientId IS NULL OR a.clientId = :clientId) AND " +
+           "(:action IS NULL OR a.action = :action) AND " +
+           "(a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id))")
+    Slice<AuditLog> findSliceAfter(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            @Param("username") String username,
+            @Param("clientId") Long clientId,
+            @Param("action") String action,
+            Pageable pageable);
+
     @Query("DELETE FROM AuditLog a WHERE a.createdAt < :date")
     void deleteByCreatedAtBefore(@Param("date") LocalDateTime date);
 } 
@@ -1,10 +1,12 @@
 package com.middleware.processor.repository;
 
+import com.middleware.processor.dto.ProcessedFileSummary;
 import com.middleware.processor.model.ProcessedFile;
 import com.middleware.processor.model.Client;
 import com.middleware.processor.model.Interface;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -20,6 +22,22 @@ import java.util.Optional;
  */
 @Repository
 public interface ProcessedFileRepository extends JpaRepository<ProcessedFile, Long> {
+
+    /**
+     * Select clause of the list queries, reading every column except the content.
+     */
+    String SUMMARY = "SELECT new com.middleware.processor.dto.ProcessedFileSummary(" +
+           "p.id, p.fileName, p.status, p.errorMessage, p.interfaceEntity.id, p.client.id, " +
+           "p.processedAt, p.createdAt, p.updatedAt) FROM ProcessedFile p";
+
+    String SUMMARY_FILTER = " WHERE " +
+           "(:clientId IS NULL OR p.client.id = :clientId) AND " +
+           "(:interfaceId IS NULL OR p.interfaceEntity.id = :interfaceId) AND " +
+           "(:status IS NULL OR p.status = :status) AND " +
+           "(:fileName IS NULL OR LOWER(p.fileName) LIKE LOWER(CONCAT('%', :fileName, '%'))) AND " +
+           "(:startDate IS NULL OR p.processedAt >= :startDate) AND " +
+           "(:endDate IS NULL OR p.processedAt <= :endDate)";
+
     /**
      * Find all processed files for a specific client
      *
@@ -87,6 +105,40 @@ public interface ProcessedFileRepository extends JpaRepository<ProcessedFile, Lo
             @Param("endDate") LocalDateTime endDate,
             Pageable pageable);
 
+    /**
+     * Find processed files without their content; every filter is optional.
+     */
+    @Query(value = SUMMARY + SUMMARY_FILTER,
+           countQuery = "SELECT COUNT(p) FROM ProcessedFile p" + SUMMARY_FILTER)
+    Page<ProcessedFileSummary> findSummaries(
+            @Param("clientId") Long clientId,
+            @Param("interfaceId") Long interfaceId,
+            @Param("status") String status,
+            @Param("fileName") String fileName,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            Pageable pageable);
+
+    @Query(SUMMARY + " WHERE p.id = :id")
+    Optional<ProcessedFileSummary> findSummaryById(@Param("id") Long id);
+
+    /**
+     * Find processed files without their content after a cursor, newest first, without counting them.
+     * Pass a pageable sorted by processedAt and id descending; filters are optional.
+     */
+    @Query(SUMMARY + " WHERE " +
+           "(:clientId IS NULL OR p.client.id = :clientId) AND " +
+           "(:interfaceId IS NULL OR p.interfaceEntity.id = :interfaceId) AND " +
+           "(:status IS NULL OR p.status = :status) AND " +
+           "(p.processedAt < :processedAt OR (p.processedAt = :processedAt AND p.id < :id))")
+    Slice<ProcessedFileSummary> findSliceAfter(
+            @Param("processedAt") LocalDateTime processedAt,
+            @Param("id") Long id,
+            @Param("clientId") Long clientId,
+            @Param("interfaceId") Long interfaceId,
+            @Param("status") String status,
+            Pageable pageable);
+
     @Modifying
     @Query("DELETE FROM ProcessedFile p WHERE p.interfaceEntity.id = :interfaceId")
     void deleteByInterfaceId(Long interfaceId);
@@ -0,0 +1,45 @@
+package com.middleware.processor.security;
+
+import com.middleware.processor.config.ClientContextHolder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Applies one rate limit policy to the requests of the paths it is registered for.
+ * Requests are counted per authenticated user, or per IP address for anonymous requests,
+ * and per client when the request carries one.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiter rateLimiter;
+    private final String policyName;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter, String policyName) {
+        this.rateLimiter = rateLimiter;
+        this.policyName = policyName;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String key = authentication != null && authentication.isAuthenticated() && authentication.getName() != null
+            ? "user:" + authentication.getName()
+            : "ip:" + request.getRemoteAddr();
+
+        RateLimiter.Result result = rateLimiter.tryAcquire(policyName, ClientContextHolder.getClientId(), key);
+        if (result.isAllowed()) {
+            return true;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf((result.getRetryAfterMillis() + 999) / 1000));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many requests. Please try again later.\"}");
+        return false;
+    }
+}
@@ -1,62 +1,186 @@
 package com.middleware.processor.security;
 
+import com.middleware.processor.config.RateLimitConfig;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
-import java.time.Instant;
+
+import java.time.Duration;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicInteger;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Token-bucket rate limiter shared by login, upload and API requests.
+ * <p>
+ * Each bucket is a single atomic timestamp (the generic cell rate form of a token bucket): a request is
+ * allowed if the bucket's theoretical arrival time is within the burst tolerance, and moves it one
+ * emission interval forward with a compare-and-set. Checks are O(1) and lock-free; idle buckets are
+ * removed by a scheduled sweep instead of on every call.
+ */
 @Component
 public class RateLimiter {
     private static final Logger logger = LoggerFactory.getLogger(RateLimiter.class);
-    private static final int MAX_ATTEMPTS = 5;
-    private static final int WINDOW_SIZE_MS = 300000; // 5 minutes
-    
-    private final ConcurrentMap<String, AttemptInfo> attempts = new ConcurrentHashMap<>();
 
-    private static class AttemptInfo {
-        final AtomicInteger count;
-        final Instant windowStart;
+    public static final String LOGIN = "login";
 
-        AttemptInfo() {
-            this.count = new AtomicInteger(1);
-            this.windowStart = Instant.now();
-        }
+    private static final RateLimitConfig.Policy DEFAULT_LOGIN_POLICY = new RateLimitConfig.Policy(5, Duration.ofMinutes(5));
+
+    private final ConcurrentMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final RateLimitConfig config;
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "rate-limit-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RateLimiter(RateLimitConfig config) {
+        this.config = config;
+        long interval = Math.max(1000, config.getSweepInterval());
+        sweeper.scheduleWithFixedDelay(this::sweep, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        sweeper.shutdownNow();
     }
 
+    /**
+     * Count a login attempt.
+     *
+     * @param key The key attempts are counted by, e.g. IP address and username
+     * @return false if the attempt exceeds the login policy
+     */
     public boolean checkRateLimit(String key) {
-        cleanup();
-        
-        AttemptInfo info = attempts.compute(key, (k, v) -> {
-            if (v == null || isWindowExpired(v.windowStart)) {
-                return new AttemptInfo();
-            }
-            v.count.incrementAndGet();
-            return v;
-        });
+        return tryAcquire(LOGIN, null, key).isAllowed();
+    }
+
+    /**
+     * Forget the login attempts of a key, e.g. after a successful login.
+     */
+    public void resetLimit(String key) {
+        reset(LOGIN, null, key);
+    }
 
-        int attemptCount = info.count.get();
-        if (attemptCount > MAX_ATTEMPTS) {
-            logger.warn("Rate limit exceeded for key: {}. Attempts: {}", key, attemptCount);
-            return false;
+    /**
+     * Take one request from a bucket.
+     *
+     * @param policyName The policy to apply
+     * @param clientId The client of the request, if known; selects client specific policies
+     * @param key The caller the bucket belongs to, e.g. username or IP address
+     * @return Whether the request is allowed, and if not when to retry
+     */
+    public Result tryAcquire(String policyName, Long clientId, String key) {
+        RateLimitConfig.Policy policy = policyFor(policyName, clientId);
+        if (policy == null || policy.getCapacity() <= 0) {
+            return Result.ALLOWED;
         }
+        long interval = Math.max(1, policy.getPeriod().toNanos() / policy.getCapacity());
+        long tolerance = interval * (policy.getCapacity() - 1);
+        Bucket bucket = buckets.computeIfAbsent(bucketKey(policyName, clientId, key), k -> new Bucket());
 
-        logger.debug("Rate limit check for key: {}. Attempts: {}/{}", key, attemptCount, MAX_ATTEMPTS);
-        return true;
+        long waitNanos = bucket.acquire(System.nanoTime(), interval, tolerance);
+        if (waitNanos > 0) {
+            logger.warn("Rate limit {} exceeded for key: {}{}", policyName, key, clientId != null ? " of client " + clientId : "");
+            return new Result(false, TimeUnit.NANOSECONDS.toMillis(waitNanos) + 1);
+        }
+        return Result.ALLOWED;
     }
 
-    public void resetLimit(String key) {
-        attempts.remove(key);
-        logger.debug("Rate limit reset for key: {}", key);
+    public void reset(String policyName, Long clientId, String key) {
+        buckets.remove(bucketKey(policyName, clientId, key));
+        logger.debug("Rate limit {} reset for key: {}", policyName, key);
     }
 
-    private boolean isWindowExpired(Instant windowStart) {
-        return Instant.now().isAfter(windowStart.plusMillis(WINDOW_SIZE_MS));
+    /**
+     * @return The number of buckets currently held
+     */
+    public int size() {
+        return buckets.size();
     }
 
-    private void cleanup() {
-        attempts.entrySet().removeIf(entry -> isWindowExpired(entry.getValue().windowStart));
+    private RateLimitConfig.Policy policyFor(String policyName, Long clientId) {
+        if (clientId != null) {
+            Map<String, RateLimitConfig.Policy> clientPolicies = config.getClients().get(clientId);
+            if (clientPolicies != null && clientPolicies.containsKey(policyName)) {
+                return clientPolicies.get(policyName);
+            }
+        }
+        RateLimitConfig.Policy policy = config.getPolicies().get(policyName);
+        return policy == null && LOGIN.equals(policyName) ? DEFAULT_LOGIN_POLICY : policy;
+    }
+
+    private static String bucketKey(String policyName, Long clientId, String key) {
+        return policyName + '|' + (clientId != null ? clientId : "-") + '|' + key;
+    }
+
+    /**
+     * Remove buckets that have refilled completely; they behave like new ones.
+     */
+    private void sweep() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+        logger.debug("Rate limit sweep removed {} idle bucket(s)", before - buckets.size());
+    }
+
+    /**
+     * Outcome of a rate limit check.
+     */
+    public static final class Result {
+        static final Result ALLOWED = new Result(true, 0);
+
+        private final boolean allowed;
+        private final long retryAfterMillis;
+
+        Result(boolean allowed, long retryAfterMillis) {
+            this.allowed = allowed;
+            this.retryAfterMillis = retryAfterMillis;
+        }
+
+        public boolean isAllowed() {
+            return allowed;
+        }
+
+        /**
+         * @return Time after which the request would be allowed, 0 if it was allowed
+         */
+        public long getRetryAfterMillis() {
+            return retryAfterMillis;
+        }
+    }
+
+    private static final class Bucket {
+        /**
+         * Theoretical arrival time (System.nanoTime) of the next request on a steady rate.
+         */
+        private final AtomicLong tat = new AtomicLong(Long.MIN_VALUE);
+
+        /**
+         * @return 0 if a token was taken, otherwise the nanoseconds until one is available
+         */
+        long acquire(long now, long interval, long tolerance) {
+            while (true) {
+                long current = tat.get();
+                long base = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+                long wait = base - now - tolerance;
+                if (wait > 0) {
+                    return wait;
+                }
+                if (tat.compareAndSet(current, base + interval)) {
+                    return 0;
+                }
+            }
+        }
+
+        boolean isIdle(long now) {
+            long current = tat.get();
+            return current == Long.MIN_VALUE || current - now <= 0;
+        }
     }
-} 
+}
@@ -1,6 +1,7 @@
 package com.middleware.processor.security.config;
 
 import com.middleware.processor.security.filter.JwtAuthenticationFilter;
+import com.middleware.processor.security.service.JwtBlacklistService;
 import com.middleware.processor.security.service.JwtService;
 
 import org.slf4j.Logger;
@@ -51,6 +52,7 @@ public class SecurityConfig {
     private final CsrfTokenRequestAttributeHandler csrfTokenRequestHandler;
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final JwtBlacklistService jwtBlacklistService;
 
     @Autowired
     public SecurityConfig(
@@ -58,19 +60,21 @@ public class SecurityConfig {
             CsrfTokenRepository csrfTokenRepository,
             CsrfTokenRequestAttributeHandler csrfTokenRequestHandler,
             JwtService jwtService,
-            UserDetailsService userDetailsService) {
+            UserDetailsService userDetailsService,
+            JwtBlacklistService jwtBlacklistService) {
         this.authenticationProvider = authenticationProvider;
         this.csrfTokenRepository = csrfTokenRepository;
         this.csrfTokenRequestHandler = csrfTokenRequestHandler;
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.jwtBlacklistService = jwtBlacklistService;
         logger.info("SecurityConfig constructor executed");
     }
 
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
         logger.info("Creating JwtAuthenticationFilter bean");
-        return new JwtAuthenticationFilter(jwtService, userDetailsService);
+        return new JwtAuthenticationFilter(jwtService, userDetailsService, jwtBlacklistService);
     }
 
     @Bean
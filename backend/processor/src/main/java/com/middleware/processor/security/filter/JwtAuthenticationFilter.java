@@ -1,5 +1,6 @@
 package com.middleware.processor.security.filter;
 
+import com.middleware.processor.security.service.JwtBlacklistService;
 import com.middleware.processor.security.service.JwtService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -33,6 +34,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final JwtBlacklistService jwtBlacklistService;
 
     @Override
     protected void doFilterInternal(
@@ -40,7 +42,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
-        log.info("Processing request: {} {}", request.getMethod(), request.getRequestURI());
+        log.debug("Processing request: {} {}", request.getMethod(), request.getRequestURI());
         
         // Try both case versions of Authorization header
         String authHeader = request.getHeader("Authorization");
@@ -48,34 +50,38 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             authHeader = request.getHeader("authorization");
         }
         
-        log.info("Authorization header: {}", authHeader);
-        
         // If no auth header or not a bearer token, continue the chain
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            log.info("No valid Authorization header found. Chain continuing as anonymous.");
+            log.debug("No valid Authorization header found. Chain continuing as anonymous.");
             filterChain.doFilter(request, response);
             return;
         }
 
         // Extract the JWT token
         String jwt = authHeader.substring(7);
-        log.info("JWT token found: {}", jwt.substring(0, Math.min(10, jwt.length())) + "...");
+        log.debug("JWT token found: {}", jwt.substring(0, Math.min(10, jwt.length())) + "...");
         
         try {
-            // Extract the username from the token
-            String username = jwtService.extractUsername(jwt);
-            log.info("Username from token: {}", username);
+            // Verify the token once and work on its claims from here on
+            Claims claims = jwtService.extractAllClaims(jwt);
+            String username = claims.getSubject();
+            log.debug("Username from token: {}", username);
+
+            if (jwtBlacklistService.isRevoked(jwtService.extractTokenId(claims, jwt))) {
+                log.warn("Rejected revoked token for user: {}", username);
+                filterChain.doFilter(request, response);
+                return;
+            }
             
             // Only process if username was extracted and no authentication exists
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // Load the user details
+                // Load the user details; cached by the user service, roles come from the token
                 UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                log.info("Loaded user details: {} with authorities: {}", userDetails.getUsername(), userDetails.getAuthorities());
+                log.debug("Loaded user details: {}", userDetails.getUsername());
                 
                 // Validate the token
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (jwtService.isTokenValid(claims, userDetails)) {
                     // Get roles from token
-                    Claims claims = jwtService.extractAllClaims(jwt);
                     @SuppressWarnings("unchecked")
                     List<String> roles = (List<String>) claims.get("roles", List.class);
                     List<SimpleGrantedAuthority> authorities = roles.stream()
@@ -83,7 +89,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                          .map(SimpleGrantedAuthority::new)
                          .collect(Collectors.toList());
                     
-                    log.info("Using roles from token: {}", roles);
+                    log.debug("Using roles from token: {}", roles);
                     
                     // Create authentication token with roles from the token
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
@@ -97,8 +103,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     
                     // Set the authentication in the security context
                     SecurityContextHolder.getContext().setAuthentication(authToken);
-                    log.info("Authentication set in SecurityContext: {}", authToken);
-                    log.info("User roles: {}", authorities);
+                    log.debug("Authentication set in SecurityContext for user: {}", username);
                 } else {
                     log.warn("JWT token validation failed for user: {}", username);
                 }
@@ -107,7 +112,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             log.error("Error processing JWT token: {}", e.getMessage(), e);
         }
         
-        log.info("Security context before continuing filter chain: {}", 
+        log.debug("Security context before continuing filter chain: {}", 
                 SecurityContextHolder.getContext().getAuthentication());
         
         // Continue the filter chain
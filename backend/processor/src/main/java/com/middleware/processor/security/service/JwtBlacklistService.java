@@ -1,6 +1,35 @@
 package com.middleware.processor.security.service;
 
+import java.util.Date;
+
+/**
+ * Revocation of JWTs before they expire, e.g. on logout.
+ * Tokens are identified by their jti claim, or by a hash of the token if it has none,
+ * and are only remembered until their own expiry.
+ */
 public interface JwtBlacklistService {
+
+    /**
+     * Revoke a token until it expires; expired or invalid tokens are ignored.
+     */
     void blacklistToken(String token);
+
+    /**
+     * @return Whether the token has been revoked
+     */
     boolean isBlacklisted(String token);
-} 
+
+    /**
+     * Revoke a token by ID until the given expiry.
+     *
+     * @param tokenId The token ID, see {@link JwtService#extractTokenId}
+     * @param expiresAt The expiry of the token
+     */
+    void revoke(String tokenId, Date expiresAt);
+
+    /**
+     * @param tokenId The token ID, see {@link JwtService#extractTokenId}
+     * @return Whether the token has been revoked
+     */
+    boolean isRevoked(String tokenId);
+}
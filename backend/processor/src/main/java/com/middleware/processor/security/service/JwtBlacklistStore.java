@@ -0,0 +1,34 @@
+package com.middleware.processor.security.service;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Shared storage of revoked tokens, so a token revoked on one replica is rejected by all of them.
+ * Replicas keep a local copy and only write revocations and poll for new ones.
+ */
+public interface JwtBlacklistStore {
+
+    /**
+     * Store a revoked token until it expires.
+     *
+     * @param tokenId The token ID (jti or hash)
+     * @param expiresAt The expiry of the token
+     */
+    void save(String tokenId, Instant expiresAt);
+
+    /**
+     * Find the tokens revoked since the given time that have not expired yet.
+     *
+     * @param since Revocation time from which on to return tokens
+     * @return Token IDs and their expiry
+     */
+    Map<String, Instant> findRevokedSince(Instant since);
+
+    /**
+     * Delete tokens that have expired.
+     *
+     * @return The number of deleted tokens
+     */
+    int purgeExpired();
+}
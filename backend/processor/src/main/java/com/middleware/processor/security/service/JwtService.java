@@ -1,15 +1,19 @@
 package com.middleware.processor.security.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.middleware.processor.config.ClientContextHolder;
 import com.middleware.processor.exception.TokenException;
 import com.middleware.processor.security.model.TokenType;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.codec.digest.DigestUtils;
@@ -23,12 +27,14 @@ import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -44,6 +50,8 @@ import java.util.stream.Collectors;
  * </ul>
  * <p>
  * Token expiration times are configured via application properties.
+ * The signing key and parser are built once; verified claims are cached for a short time,
+ * so a client polling with the same token pays for one signature check per cache period.
  */
 @Slf4j
 @Service
@@ -58,6 +66,28 @@ public class JwtService {
     @Value("${application.security.jwt.refresh-token.expiration}")
     private long refreshExpiration;
 
+    @Value("${application.security.jwt.claims-cache.ttl:30000}")
+    private long claimsCacheTtl;
+
+    @Value("${application.security.jwt.claims-cache.max-size:10000}")
+    private long claimsCacheMaxSize;
+
+    private Key signingKey;
+    private JwtParser jwtParser;
+    private Cache<String, Claims> verifiedClaims;
+
+    @PostConstruct
+    void init() {
+        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+        signingKey = Keys.hmacShaKeyFor(keyBytes);
+        // The parser is immutable and thread-safe
+        jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfterWrite(Duration.ofMillis(claimsCacheTtl))
+                .build();
+    }
+
     /**
      * Extracts the username from a JWT token.
      *
@@ -155,6 +185,7 @@ public class JwtService {
         return Jwts
                 .builder()
                 .setClaims(extraClaims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
@@ -171,11 +202,26 @@ public class JwtService {
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
         try {
-            final Claims claims = extractAllClaims(token);
+            return isTokenValid(extractAllClaims(token), userDetails);
+        } catch (TokenException e) {
+            log.debug("Invalid token: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Validates the verified claims of a JWT token for the specified user.
+     *
+     * @param claims the claims returned by {@link #extractAllClaims(String)}
+     * @param userDetails the user details
+     * @return true if the token is valid, false otherwise
+     */
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        try {
             final String username = claims.getSubject();
             final Date expiration = claims.getExpiration();
             
-            log.info("Validating token for user: {} with roles: {}", username, userDetails.getAuthorities());
+            log.debug("Validating token for user: {}", username);
             
             // First check basic validity: matching username and not expired
             if (!username.equals(userDetails.getUsername())) {
@@ -191,13 +237,13 @@ public class JwtService {
             // For access tokens, validate fingerprint if present
             // This helps prevent token theft by binding the token to the original request context
             if (claims.containsKey("type") && "ACCESS".equals(claims.get("type"))) {
-                log.info("Validating ACCESS token");
+                log.debug("Validating ACCESS token");
                 if (claims.containsKey("fingerprint")) {
                     // Generate expected fingerprint based on current request
                     String expectedFingerprint = generateFingerprint(userDetails);
                     String tokenFingerprint = claims.get("fingerprint", String.class);
                     
-                    log.info("Fingerprint validation - Token: {}, Expected: {}", 
+                    log.debug("Fingerprint validation - Token: {}, Expected: {}", 
                         tokenFingerprint, expectedFingerprint);
                     
                     // If fingerprints don't match, token might be stolen
@@ -206,11 +252,11 @@ public class JwtService {
                         return false;
                     }
                 } else {
-                    log.info("No fingerprint in ACCESS token");
+                    log.debug("No fingerprint in ACCESS token");
                 }
             }
             
-            log.info("Token validated successfully for user: {}", username);
+            log.debug("Token validated successfully for user: {}", username);
             return true;
         } catch (ExpiredJwtException e) {
             log.debug("Token expired: {}", e.getMessage());
@@ -221,6 +267,18 @@ public class JwtService {
         }
     }
 
+    /**
+     * Gets the ID a token is revoked by: its jti claim, or a hash of the token if it has none.
+     *
+     * @param claims the verified claims of the token
+     * @param token the JWT token
+     * @return the token ID
+     */
+    public String extractTokenId(Claims claims, String token) {
+        String jti = claims.getId();
+        return jti != null ? jti : "sha256:" + DigestUtils.sha256Hex(token);
+    }
+
     /**
      * Extracts the expiration date from a JWT token.
      *
@@ -247,19 +305,33 @@ public class JwtService {
 
     /**
      * Extracts all claims from a JWT token.
+     * The signature is verified once per token and cache period; cached claims are
+     * only returned while the token has not expired.
      *
      * @param token the JWT token
-     * @return the claims
+     * @return the claims, which must not be modified
      * @throws TokenException if the token is invalid
      */
     public Claims extractAllClaims(String token) {
+        if (token == null) {
+            throw TokenException.invalid();
+        }
+        Claims cached = verifiedClaims.getIfPresent(token);
+        if (cached != null) {
+            if (cached.getExpiration() == null || cached.getExpiration().after(new Date())) {
+                return cached;
+            }
+            verifiedClaims.invalidate(token);
+            throw TokenException.expired();
+        }
+        Claims claims = parseClaims(token);
+        verifiedClaims.put(token, claims);
+        return claims;
+    }
+
+    private Claims parseClaims(String token) {
         try {
-            return Jwts
-                    .parserBuilder()
-                    .setSigningKey(getSignInKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return jwtParser.parseClaimsJws(token).getBody();
         } catch (ExpiredJwtException e) {
             throw TokenException.expired();
         } catch (UnsupportedJwtException | MalformedJwtException | io.jsonwebtoken.security.SignatureException | IllegalArgumentException e) {
@@ -273,8 +345,7 @@ public class JwtService {
      * @return the signing key
      */
     private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
     }
 
     /**
@@ -325,7 +396,7 @@ public class JwtService {
         String fingerprintData = String.format("%s:%s:%s", username, userAgent, ipAddress);
         String fingerprint = DigestUtils.sha256Hex(fingerprintData);
         
-        log.info("Generated fingerprint for user {}: {} (from UA: {}, IP: {})", 
+        log.debug("Generated fingerprint for user {}: {} (from UA: {}, IP: {})", 
             username, fingerprint, userAgent, ipAddress);
         
         return fingerprint;
@@ -0,0 +1,74 @@
+package com.middleware.processor.security.service.impl;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel firing a callback for keys whose deadline has passed.
+ * Deadlines are hashed by tick into a fixed ring of buckets and each tick only visits its own bucket,
+ * so expiring entries costs time proportional to the entries in that bucket instead of a scan of all.
+ * Entries due in a later revolution stay in their bucket until then.
+ * Scheduling is thread-safe; {@link #advance(long)} must be called from a single thread.
+ */
+class HashedTimerWheel<K> {
+
+    private final long tickMillis;
+    private final Queue<Timeout<K>>[] buckets;
+    private final Consumer<K> onExpiry;
+    private long nextTick = -1;
+
+    @SuppressWarnings("unchecked")
+    HashedTimerWheel(long tickMillis, int size, Consumer<K> onExpiry) {
+        if (tickMillis <= 0 || size <= 0) {
+            throw new IllegalArgumentException("Timer wheel tick and size must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.onExpiry = onExpiry;
+        this.buckets = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    /**
+     * Fire the callback for the key once the deadline has passed.
+     */
+    void schedule(K key, long deadlineMillis) {
+        buckets[bucketOf(deadlineMillis / tickMillis)].add(new Timeout<>(key, deadlineMillis));
+    }
+
+    /**
+     * Expire the entries of every tick up to the given time.
+     */
+    void advance(long nowMillis) {
+        long currentTick = nowMillis / tickMillis;
+        if (nextTick < 0) {
+            // First run: visit the whole ring once so entries scheduled before it are not skipped
+            nextTick = currentTick - buckets.length + 1;
+        }
+        // After a long pause a full revolution visits every bucket
+        nextTick = Math.max(nextTick, currentTick - buckets.length + 1);
+        for (; nextTick <= currentTick; nextTick++) {
+            expire(buckets[bucketOf(nextTick)], nowMillis);
+        }
+    }
+
+    private void expire(Queue<Timeout<K>> bucket, long nowMillis) {
+        for (Iterator<Timeout<K>> it = bucket.iterator(); it.hasNext(); ) {
+            Timeout<K> timeout = it.next();
+            if (timeout.deadlineMillis <= nowMillis) {
+                it.remove();
+                onExpiry.accept(timeout.key);
+            }
+        }
+    }
+
+    private int bucketOf(long tick) {
+        return (int) Math.floorMod(tick, (long) buckets.length);
+    }
+
+    private record Timeout<K>(K key, long deadlineMillis) {
+    }
+}
@@ -1,37 +1,195 @@
 package com.middleware.processor.security.service.impl;
 
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import com.middleware.processor.config.TokenBlacklistConfig;
+import com.middleware.processor.exception.TokenException;
 import com.middleware.processor.security.service.JwtBlacklistService;
-import org.springframework.stereotype.Service;
+import com.middleware.processor.security.service.JwtBlacklistStore;
+import com.middleware.processor.security.service.JwtService;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Token blacklist held in memory, optionally shared with other replicas through a {@link JwtBlacklistStore}.
+ * <p>
+ * Revoked token IDs are kept until the token's own expiry and evicted by a hashed timer wheel, so memory
+ * is bounded by the tokens revoked within one token lifetime. A Bloom filter in front of the map answers
+ * the common "not revoked" case without touching it.
+ */
+@Slf4j
 @Service
 @Primary
 public class InMemoryJwtBlacklistService implements JwtBlacklistService {
-    
-    private final ConcurrentMap<String, Long> blacklist = new ConcurrentHashMap<>();
-    
+
+    /**
+     * Overlap of store polls, covering clock differences between replicas.
+     */
+    private static final long SYNC_OVERLAP_MILLIS = 60_000;
+
+    private static final long PURGE_INTERVAL_MILLIS = 3_600_000;
+
+    private final ConcurrentMap<String, Long> revoked = new ConcurrentHashMap<>();
+    private final JwtService jwtService;
+    private final TokenBlacklistConfig config;
+    private final JwtBlacklistStore store;
+    private final HashedTimerWheel<String> expiryWheel;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile BloomFilter<CharSequence> bloomFilter;
+    private int bloomCapacity;
+    private int bloomInsertions;
+    private Instant lastSync = Instant.EPOCH;
+    private Instant lastPurge = Instant.EPOCH;
+
+    public InMemoryJwtBlacklistService(JwtService jwtService, TokenBlacklistConfig config,
+                                       ObjectProvider<JwtBlacklistStore> store) {
+        this.jwtService = jwtService;
+        this.config = config;
+        this.store = store.getIfAvailable();
+        this.expiryWheel = new HashedTimerWheel<>(config.getWheelTick(), config.getWheelSize(), this::expire);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwt-blacklist");
+            thread.setDaemon(true);
+            return thread;
+        });
+        rebuildBloomFilter();
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler.scheduleAtFixedRate(this::tick, config.getWheelTick(), config.getWheelTick(), TimeUnit.MILLISECONDS);
+        if (store != null) {
+            sync();
+            scheduler.scheduleWithFixedDelay(this::sync, config.getSyncInterval(), config.getSyncInterval(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
     @Override
     public void blacklistToken(String token) {
-        // Store token with current time + 1 hour (default expiration)
-        blacklist.put(token, System.currentTimeMillis() + 3600000);
+        try {
+            Claims claims = jwtService.extractAllClaims(token);
+            revoke(jwtService.extractTokenId(claims, token), claims.getExpiration());
+        } catch (TokenException e) {
+            // Expired or invalid tokens are rejected anyway
+            log.debug("Not blacklisting token: {}", e.getMessage());
+        }
     }
-    
+
     @Override
     public boolean isBlacklisted(String token) {
-        Long expirationTime = blacklist.get(token);
-        if (expirationTime == null) {
+        try {
+            return isRevoked(jwtService.extractTokenId(jwtService.extractAllClaims(token), token));
+        } catch (TokenException e) {
             return false;
         }
-        
-        // Remove expired tokens
-        if (System.currentTimeMillis() > expirationTime) {
-            blacklist.remove(token);
+    }
+
+    @Override
+    public void revoke(String tokenId, Date expiresAt) {
+        long expiry = expiresAt != null ? expiresAt.getTime() : System.currentTimeMillis() + 3600000;
+        if (expiry <= System.currentTimeMillis()) {
+            return;
+        }
+        add(tokenId, expiry);
+        if (store != null) {
+            store.save(tokenId, Instant.ofEpochMilli(expiry));
+        }
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !bloomFilter.mightContain(tokenId)) {
             return false;
         }
-        
-        return true;
+        Long expiry = revoked.get(tokenId);
+        return expiry != null && expiry > System.currentTimeMillis();
+    }
+
+    /**
+     * @return The number of revoked tokens held in memory
+     */
+    public int size() {
+        return revoked.size();
+    }
+
+    private void add(String tokenId, long expiry) {
+        if (revoked.putIfAbsent(tokenId, expiry) != null) {
+            return;
+        }
+        synchronized (this) {
+            bloomFilter.put(tokenId);
+            if (++bloomInsertions > bloomCapacity) {
+                rebuildBloomFilter();
+            }
+        }
+        expiryWheel.schedule(tokenId, expiry);
+    }
+
+    private void expire(String tokenId) {
+        long now = System.currentTimeMillis();
+        revoked.computeIfPresent(tokenId, (id, expiry) -> expiry <= now ? null : expiry);
+    }
+
+    private void tick() {
+        try {
+            expiryWheel.advance(System.currentTimeMillis());
+            // Bloom filters can't forget; rebuild once most of their entries have expired
+            synchronized (this) {
+                if (bloomInsertions > 1000 && revoked.size() < bloomInsertions / 4) {
+                    rebuildBloomFilter();
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error evicting expired blacklisted tokens: {}", e.getMessage(), e);
+        }
+    }
+
+    private synchronized void rebuildBloomFilter() {
+        bloomCapacity = Math.max(config.getExpectedTokens(), revoked.size() * 2);
+        BloomFilter<CharSequence> rebuilt = BloomFilter.create(
+            Funnels.stringFunnel(StandardCharsets.UTF_8), bloomCapacity, config.getFalsePositiveRate());
+        revoked.keySet().forEach(rebuilt::put);
+        bloomInsertions = revoked.size();
+        bloomFilter = rebuilt;
+    }
+
+    private void sync() {
+        try {
+            Instant now = Instant.now();
+            Map<String, Instant> revokedSince = store.findRevokedSince(lastSync.minusMillis(SYNC_OVERLAP_MILLIS));
+            revokedSince.forEach((tokenId, expiresAt) -> add(tokenId, expiresAt.toEpochMilli()));
+            if (lastSync.equals(Instant.EPOCH)) {
+                log.info("Loaded {} revoked token(s) from the shared blacklist", revokedSince.size());
+            }
+            lastSync = now;
+            if (now.isAfter(lastPurge.plusMillis(PURGE_INTERVAL_MILLIS))) {
+                int purged = store.purgeExpired();
+                log.debug("Purged {} expired token(s) from the shared blacklist", purged);
+                lastPurge = now;
+            }
+        } catch (Exception e) {
+            log.warn("Could not sync revoked tokens from the shared blacklist: {}", e.getMessage());
+        }
     }
-} 
+}
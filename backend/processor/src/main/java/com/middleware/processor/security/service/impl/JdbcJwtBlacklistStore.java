@@ -0,0 +1,52 @@
+package com.middleware.processor.security.service.impl;
+
+import com.middleware.processor.security.service.JwtBlacklistStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Revoked tokens stored in the revoked_tokens table shared by all replicas.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.security.token-blacklist", name = "store", havingValue = "jdbc")
+public class JdbcJwtBlacklistStore implements JwtBlacklistStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcJwtBlacklistStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void save(String tokenId, Instant expiresAt) {
+        try {
+            jdbcTemplate.update("INSERT INTO revoked_tokens (token_id, expires_at, revoked_at) VALUES (?, ?, ?)",
+                tokenId, Timestamp.from(expiresAt), Timestamp.from(Instant.now()));
+        } catch (DuplicateKeyException e) {
+            // Already revoked
+        }
+    }
+
+    @Override
+    public Map<String, Instant> findRevokedSince(Instant since) {
+        Map<String, Instant> revoked = new HashMap<>();
+        jdbcTemplate.query("SELECT token_id, expires_at FROM revoked_tokens WHERE revoked_at >= ? AND expires_at > ?",
+            rs -> {
+                revoked.put(rs.getString("token_id"), rs.getTimestamp("expires_at").toInstant());
+            },
+            Timestamp.from(since), Timestamp.from(Instant.now()));
+        return revoked;
+    }
+
+    @Override
+    public int purgeExpired() {
+        return jdbcTemplate.update("DELETE FROM revoked_tokens WHERE expires_at <= ?", Timestamp.from(Instant.now()));
+    }
+}
@@ -0,0 +1,241 @@
+package com.middleware.processor.service.audit;
+
+import com.middleware.processor.config.AuditRetentionConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Removes audit records older than the retention period.
+ * <p>
+ * On PostgreSQL the audit tables are partitioned by month (migration V3); expired months are dropped
+ * as a whole and the coming months are created ahead of time. Rows outside the monthly partitions,
+ * and tables that aren't partitioned (H2), are deleted in small chunks, each committed on its own,
+ * so no statement holds locks or piles up WAL for long.
+ */
+@Slf4j
+@Component
+public class AuditLogRetention {
+
+    public static final String HTTP_AUDIT_LOGS = "http_audit_logs";
+    public static final String METHOD_AUDIT_LOGS = "method_audit_logs";
+
+    private static final List<String> TABLES = List.of(HTTP_AUDIT_LOGS, METHOD_AUDIT_LOGS);
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final Pattern PARTITION_NAME = Pattern.compile("^(\\w+)_p(\\d{4})_(\\d{2})$");
+
+    private final AuditRetentionConfig config;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Timer runTimer;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong lastSuccess = new AtomicLong();
+    private final Map<String, Boolean> partitioned = new ConcurrentHashMap<>();
+
+    private Boolean postgres;
+
+    public AuditLogRetention(AuditRetentionConfig config, JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.runTimer = Timer.builder("audit.retention.duration")
+            .description("Duration of audit retention runs")
+            .register(meterRegistry);
+        Gauge.builder("audit.retention.last.success", lastSuccess, AtomicLong::get)
+            .description("Epoch seconds of the last completed audit retention run")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Create the partitions of the coming months, so rows don't end up in the default partitions.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createUpcomingPartitions() {
+        for (String table : TABLES) {
+            try {
+                if (isPartitioned(table)) {
+                    createPartitions(table);
+                }
+            } catch (Exception e) {
+                log.warn("Could not create upcoming partitions of {}: {}", table, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Nightly retention run.
+     */
+    @Scheduled(cron = "${audit.retention.cron:0 0 0 * * *}")
+    public void purgeExpired() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        purgeBefore(LocalDateTime.now().minusDays(config.getRetentionDays()));
+    }
+
+    /**
+     * Remove audit records created before the cutoff from both audit tables.
+     * Runs are not concurrent; a call while another run is in progress returns 0.
+     *
+     * @return The number of rows deleted, not counting dropped partitions
+     */
+    public long purgeBefore(LocalDateTime cutoff) {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Audit retention is already running");
+            return 0;
+        }
+        try {
+            return runTimer.record(() -> {
+                long deleted = 0;
+                for (String table : TABLES) {
+                    try {
+                        deleted += purgeTable(table, cutoff);
+                    } catch (Exception e) {
+                        log.error("Audit retention of {} failed: {}", table, e.getMessage(), e);
+                    }
+                }
+                lastSuccess.set(System.currentTimeMillis() / 1000);
+                log.info("Audit retention removed {} row(s) created before {}", deleted, cutoff);
+                return deleted;
+            });
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Delete the rows of an audit table created before the cutoff, one chunk per transaction.
+     *
+     * @param table {@link #HTTP_AUDIT_LOGS} or {@link #METHOD_AUDIT_LOGS}
+     * @return The number of rows deleted
+     */
+    public long deleteOlderThan(String table, LocalDateTime cutoff) {
+        if (!TABLES.contains(table)) {
+            throw new IllegalArgumentException("Not an audit table: " + table);
+        }
+        return deleteInChunks(table, table, cutoff);
+    }
+
+    private long purgeTable(String table, LocalDateTime cutoff) {
+        if (!isPartitioned(table)) {
+            return deleteInChunks(table, table, cutoff);
+        }
+        createPartitions(table);
+        dropExpiredPartitions(table, cutoff);
+        // Rows of months without a partition, e.g. migrated from before partitioning
+        return deleteInChunks(table, table + "_default", cutoff);
+    }
+
+    private long deleteInChunks(String table, String target, LocalDateTime cutoff) {
+        int chunkSize = Math.max(1, config.getChunkSize());
+        String sql = "DELETE FROM " + target + " WHERE id IN (SELECT id FROM " + target
+            + " WHERE created_at < ? FETCH FIRST " + chunkSize + " ROWS ONLY)";
+        Timestamp before = Timestamp.valueOf(cutoff);
+        long total = 0;
+        while (true) {
+            int deleted = jdbcTemplate.update(sql, before);
+            total += deleted;
+            meterRegistry.counter("audit.retention.rows.deleted", "table", table).increment(deleted);
+            if (deleted < chunkSize) {
+                break;
+            }
+            log.debug("Deleted {} row(s) from {} so far", total, target);
+            if (!pause()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private void dropExpiredPartitions(String table, LocalDateTime cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList(
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                + "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = ?", String.class, table);
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches() || !matcher.group(1).equals(table)) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(2)), Integer.parseInt(matcher.group(3)));
+            // Only whole months: the partition's upper bound must be before the cutoff
+            if (!month.plusMonths(1).atDay(1).atStartOfDay().isAfter(cutoff)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                meterRegistry.counter("audit.retention.partitions.dropped", "table", table).increment();
+                log.info("Dropped audit partition {}", partition);
+            }
+        }
+    }
+
+    private void createPartitions(String table) {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= config.getPremadeMonths(); i++) {
+            YearMonth month = current.plusMonths(i);
+            LocalDate from = month.atDay(1);
+            LocalDate to = month.plusMonths(1).atDay(1);
+            try {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table + "_p" + month.format(PARTITION_SUFFIX)
+                    + " PARTITION OF " + table + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+            } catch (Exception e) {
+                // E.g. the default partition already holds rows of that month
+                log.warn("Could not create partition of {} for {}: {}", table, month, e.getMessage());
+            }
+        }
+    }
+
+    private boolean isPartitioned(String table) {
+        if (!isPostgres()) {
+            return false;
+        }
+        return partitioned.computeIfAbsent(table, name -> {
+            Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid "
+                    + "WHERE c.relname = ?", Integer.class, name);
+            boolean result = count != null && count > 0;
+            log.info("Audit table {} is {}", name, result ? "partitioned by month" : "not partitioned");
+            return result;
+        });
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = Boolean.TRUE.equals(jdbcTemplate.execute(
+                (ConnectionCallback<Boolean>) connection -> connection.isWrapperFor(PGConnection.class)));
+        }
+        return postgres;
+    }
+
+    private boolean pause() {
+        if (config.getChunkPause() <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(config.getChunkPause());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.middleware.processor.service.audit;
+
+import com.middleware.processor.config.AuditWriterConfig;
+import com.middleware.processor.model.AuditLog;
+import com.middleware.processor.model.AuditLogEntry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes audit records in the background so auditing doesn't add a database insert to the audited call.
+ * <p>
+ * Records are put in a bounded buffer and inserted by a single writer thread in JDBC batches, one
+ * transaction per batch. Under load batches grow up to the configured size; when idle a record is
+ * written as soon as it arrives. What happens when the buffer is full is set by the overflow policy.
+ * Buffered records are written at shutdown.
+ */
+@Slf4j
+@Component
+public class AuditLogWriter {
+
+    private static final String INSERT_AUDIT_LOG = "INSERT INTO http_audit_logs (username, action, entity_type, "
+        + "entity_id, client_id, details, ip_address, user_agent, request_method, request_url, request_params, "
+        + "response_status, error_message, created_at, execution_time, duration) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_AUDIT_LOG_ENTRY = "INSERT INTO method_audit_logs (username, method, message, "
+        + "error, duration, level, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final AuditWriterConfig config;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Object> buffer;
+    private final Thread writerThread;
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running = true;
+
+    public AuditLogWriter(AuditWriterConfig config, JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Audit records are committed on their own, whatever the caller's transaction does
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.buffer = new ArrayBlockingQueue<>(Math.max(1, config.getBufferSize()));
+        this.writerThread = new Thread(this::run, "audit-writer");
+        this.writerThread.setDaemon(true);
+
+        this.writtenCounter = meterRegistry.counter("audit.writer.records", "result", "written");
+        this.droppedCounter = meterRegistry.counter("audit.writer.records", "result", "dropped");
+        this.failedCounter = meterRegistry.counter("audit.writer.records", "result", "failed");
+        Gauge.builder("audit.writer.buffer.size", buffer, BlockingQueue::size)
+            .description("Audit records waiting to be written")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (config.isAsync()) {
+            writerThread.start();
+        }
+    }
+
+    /**
+     * Queue an HTTP or entity audit log for writing.
+     */
+    public void submit(AuditLog auditLog) {
+        enqueue(auditLog);
+    }
+
+    /**
+     * Queue a method audit entry for writing.
+     */
+    public void submit(AuditLogEntry entry) {
+        enqueue(entry);
+    }
+
+    /**
+     * @return The number of records waiting to be written
+     */
+    public int getPending() {
+        return buffer.size();
+    }
+
+    private void enqueue(Object record) {
+        if (!running || !config.isAsync()) {
+            write(List.of(record));
+            return;
+        }
+        if (buffer.offer(record)) {
+            return;
+        }
+        switch (config.getOverflowPolicy()) {
+            case DROP_NEWEST -> drop(record);
+            case DROP_OLDEST -> {
+                // Another caller may take the freed slot; give up after a few attempts
+                for (int attempt = 0; attempt < 3; attempt++) {
+                    Object oldest = buffer.poll();
+                    if (oldest != null) {
+                        drop(oldest);
+                    }
+                    if (buffer.offer(record)) {
+                        return;
+                    }
+                }
+                drop(record);
+            }
+            case BLOCK -> {
+                try {
+                    if (!buffer.offer(record, config.getBlockTimeout(), TimeUnit.MILLISECONDS)) {
+                        drop(record);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    drop(record);
+                }
+            }
+            case CALLER_RUNS -> write(List.of(record));
+        }
+    }
+
+    private void drop(Object record) {
+        droppedCounter.increment();
+        long dropped = (long) droppedCounter.count();
+        // Don't flood the log while the buffer stays full
+        if (dropped == 1 || dropped % 1000 == 0) {
+            log.warn("Audit buffer full, dropped {} ({} audit record(s) dropped so far)",
+                record.getClass().getSimpleName(), dropped);
+        }
+    }
+
+    private void run() {
+        int batchSize = Math.max(1, config.getBatchSize());
+        List<Object> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                Object first = buffer.poll(config.getFlushInterval(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                // Interrupted at shutdown, the remaining records are written by stop()
+                break;
+            } catch (Exception e) {
+                log.error("Audit writer error: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Stop accepting records into the buffer and write what is left in it.
+     */
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (writerThread.isAlive()) {
+            try {
+                writerThread.join(config.getShutdownTimeout());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (writerThread.isAlive()) {
+                writerThread.interrupt();
+            }
+        }
+        List<Object> remaining = new ArrayList<>();
+        buffer.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            log.info("Writing {} buffered audit record(s) at shutdown", remaining.size());
+            write(remaining);
+        }
+    }
+
+    private void write(List<Object> records) {
+        List<AuditLog> auditLogs = new ArrayList<>();
+        List<AuditLogEntry> entries = new ArrayList<>();
+        for (Object record : records) {
+            if (record instanceof AuditLog auditLog) {
+                auditLogs.add(auditLog);
+            } else if (record instanceof AuditLogEntry entry) {
+                entries.add(entry);
+            }
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                insertAuditLogs(auditLogs);
+                insertAuditLogEntries(entries);
+            });
+            writtenCounter.increment(records.size());
+        } catch (Exception e) {
+            if (records.size() == 1) {
+                failedCounter.increment();
+                log.error("Could not write {}: {}", records.get(0).getClass().getSimpleName(), e.getMessage());
+                return;
+            }
+            // One bad record fails the whole batch; write them one by one to keep the others
+            log.warn("Could not write batch of {} audit records, retrying one by one: {}",
+                records.size(), e.getMessage());
+            for (Object record : records) {
+                write(List.of(record));
+            }
+        }
+    }
+
+    private void insertAuditLogs(List<AuditLog> auditLogs) {
+        if (auditLogs.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_AUDIT_LOG, auditLogs, auditLogs.size(), (ps, auditLog) -> {
+            ps.setString(1, auditLog.getUsername());
+            ps.setString(2, auditLog.getAction());
+            ps.setString(3, auditLog.getEntityType());
+            setLong(ps, 4, auditLog.getEntityId());
+            setLong(ps, 5, auditLog.getClientId());
+            ps.setString(6, auditLog.getDetails());
+            ps.setString(7, auditLog.getIpAddress());
+            ps.setString(8, auditLog.getUserAgent());
+            ps.setString(9, auditLog.getRequestMethod());
+            ps.setString(10, auditLog.getRequestUrl());
+            ps.setString(11, auditLog.getRequestParams());
+            if (auditLog.getResponseStatus() != null) {
+                ps.setInt(12, auditLog.getResponseStatus());
+            } else {
+                ps.setNull(12, Types.INTEGER);
+            }
+            ps.setString(13, auditLog.getErrorMessage());
+            ps.setTimestamp(14, timestamp(auditLog.getCreatedAt()));
+            setLong(ps, 15, auditLog.getExecutionTime());
+            ps.setLong(16, auditLog.getDuration());
+        });
+    }
+
+    private void insertAuditLogEntries(List<AuditLogEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_AUDIT_LOG_ENTRY, entries, entries.size(), (ps, entry) -> {
+            ps.setString(1, entry.getUsername());
+            ps.setString(2, entry.getMethod());
+            ps.setString(3, entry.getMessage());
+            ps.setString(4, entry.getError());
+            ps.setLong(5, entry.getDuration());
+            ps.setString(6, entry.getLevel() != null ? entry.getLevel().name() : null);
+            ps.setTimestamp(7, timestamp(entry.getTimestamp()));
+        });
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+
+    private static Timestamp timestamp(LocalDateTime dateTime) {
+        return Timestamp.valueOf(dateTime != null ? dateTime : LocalDateTime.now());
+    }
+}
@@ -0,0 +1,71 @@
+package com.middleware.processor.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+/**
+ * Caffeine cache manager whose caches broadcast evictions to the other processor replicas.
+ * Caches stay {@link CaffeineCache}s, so their statistics are still exported as metrics.
+ */
+public class BroadcastingCaffeineCacheManager extends CaffeineCacheManager {
+
+    private final CacheInvalidationPublisher publisher;
+
+    public BroadcastingCaffeineCacheManager(CacheInvalidationPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @Override
+    protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+        return new BroadcastingCaffeineCache(name, cache, isAllowNullValues(), publisher);
+    }
+
+    /**
+     * A cache publishing its evictions; evictions received from other replicas are applied locally only.
+     */
+    public static class BroadcastingCaffeineCache extends CaffeineCache {
+
+        private final CacheInvalidationPublisher publisher;
+
+        BroadcastingCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues,
+                                  CacheInvalidationPublisher publisher) {
+            super(name, cache, allowNullValues);
+            this.publisher = publisher;
+        }
+
+        @Override
+        public void evict(Object key) {
+            super.evict(key);
+            publisher.publish(CacheInvalidationMessage.evict(getName(), key));
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            boolean present = super.evictIfPresent(key);
+            publisher.publish(CacheInvalidationMessage.evict(getName(), key));
+            return present;
+        }
+
+        @Override
+        public void clear() {
+            super.clear();
+            publisher.publish(CacheInvalidationMessage.clear(getName()));
+        }
+
+        @Override
+        public boolean invalidate() {
+            boolean notEmpty = super.invalidate();
+            publisher.publish(CacheInvalidationMessage.clear(getName()));
+            return notEmpty;
+        }
+
+        public void evictLocally(Object key) {
+            super.evict(key);
+        }
+
+        public void clearLocally() {
+            super.clear();
+        }
+    }
+}
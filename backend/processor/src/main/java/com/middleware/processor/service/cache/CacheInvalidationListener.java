@@ -0,0 +1,65 @@
+package com.middleware.processor.service.cache;
+
+import com.middleware.processor.service.mapping.AsnMappingPlanCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Applies cache evictions broadcast by other processor replicas.
+ */
+@Component
+@ConditionalOnProperty(prefix = "cache.invalidation", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CacheInvalidationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationListener.class);
+
+    private final CacheManager cacheManager;
+    private final AsnMappingPlanCache mappingPlanCache;
+    private final CacheInvalidationPublisher publisher;
+
+    public CacheInvalidationListener(CacheManager cacheManager, AsnMappingPlanCache mappingPlanCache,
+                                     CacheInvalidationPublisher publisher) {
+        this.cacheManager = cacheManager;
+        this.mappingPlanCache = mappingPlanCache;
+        this.publisher = publisher;
+    }
+
+    @RabbitListener(queues = "#{cacheInvalidationQueue.name}")
+    public void onMessage(Message message) {
+        CacheInvalidationMessage invalidation;
+        try {
+            invalidation = publisher.read(message.getBody());
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable cache invalidation: {}", e.getMessage());
+            return;
+        }
+        if (publisher.isOwn(invalidation) || invalidation.getType() == null) {
+            return;
+        }
+
+        switch (invalidation.getType()) {
+            case MAPPING_PLANS -> mappingPlanCache.invalidate(invalidation.getClientId());
+            case EVICT -> {
+                Cache cache = cacheManager.getCache(invalidation.getCacheName());
+                if (cache instanceof BroadcastingCaffeineCacheManager.BroadcastingCaffeineCache broadcasting) {
+                    broadcasting.evictLocally(invalidation.cacheKey());
+                }
+            }
+            case CLEAR -> {
+                Cache cache = cacheManager.getCache(invalidation.getCacheName());
+                if (cache instanceof BroadcastingCaffeineCacheManager.BroadcastingCaffeineCache broadcasting) {
+                    broadcasting.clearLocally();
+                }
+            }
+        }
+        logger.debug("Applied cache invalidation from another replica: {}", invalidation);
+    }
+}
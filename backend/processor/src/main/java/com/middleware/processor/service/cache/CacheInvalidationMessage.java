@@ -0,0 +1,66 @@
+package com.middleware.processor.service.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An eviction broadcast to the other processor replicas.
+ * Either evicts a key (or all entries) of a named cache, or drops compiled mapping plans of a client.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationMessage {
+
+    public enum Type {
+        EVICT,
+        CLEAR,
+        MAPPING_PLANS
+    }
+
+    /**
+     * Instance that published the message; replicas ignore their own messages.
+     */
+    private String origin;
+
+    private Type type;
+
+    /**
+     * Name of the cache, for EVICT and CLEAR.
+     */
+    private String cacheName;
+
+    /**
+     * Key to evict, for EVICT. Keys are sent as text; numeric keys are restored as Long, which is how
+     * entity IDs are cached.
+     */
+    private String key;
+
+    private boolean numericKey;
+
+    /**
+     * Client whose mapping plans are dropped, for MAPPING_PLANS; null for all clients.
+     */
+    private Long clientId;
+
+    public static CacheInvalidationMessage evict(String cacheName, Object key) {
+        return new CacheInvalidationMessage(null, Type.EVICT, cacheName, String.valueOf(key),
+            key instanceof Long || key instanceof Integer, null);
+    }
+
+    public static CacheInvalidationMessage clear(String cacheName) {
+        return new CacheInvalidationMessage(null, Type.CLEAR, cacheName, null, false, null);
+    }
+
+    public static CacheInvalidationMessage mappingPlans(Long clientId) {
+        return new CacheInvalidationMessage(null, Type.MAPPING_PLANS, null, null, false, clientId);
+    }
+
+    /**
+     * @return The key to evict, as the type it was cached with
+     */
+    public Object cacheKey() {
+        return numericKey ? Long.valueOf(key) : key;
+    }
+}
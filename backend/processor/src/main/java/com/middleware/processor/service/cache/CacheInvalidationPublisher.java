@@ -0,0 +1,62 @@
+package com.middleware.processor.service.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.middleware.processor.config.CacheInvalidationConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Publishes local cache evictions to the other processor replicas.
+ * Publishing is best effort: an unreachable broker is logged, it never fails the eviction itself.
+ */
+@Component
+public class CacheInvalidationPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationPublisher.class);
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RabbitTemplate rabbitTemplate;
+    private final CacheInvalidationConfig config;
+
+    public CacheInvalidationPublisher(RabbitTemplate rabbitTemplate, CacheInvalidationConfig config) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.config = config;
+    }
+
+    public void publish(CacheInvalidationMessage invalidation) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        invalidation.setOrigin(instanceId);
+        try {
+            Message message = MessageBuilder.withBody(objectMapper.writeValueAsBytes(invalidation))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .build();
+            rabbitTemplate.send(config.getExchange(), config.getRoutingKey(), message);
+        } catch (JsonProcessingException | AmqpException e) {
+            logger.warn("Could not broadcast cache invalidation {}: {}", invalidation, e.getMessage());
+        }
+    }
+
+    /**
+     * @return Whether a message was published by this instance
+     */
+    public boolean isOwn(CacheInvalidationMessage invalidation) {
+        return instanceId.equals(invalidation.getOrigin());
+    }
+
+    CacheInvalidationMessage read(byte[] body) throws IOException {
+        return objectMapper.readValue(body, CacheInvalidationMessage.class);
+    }
+}
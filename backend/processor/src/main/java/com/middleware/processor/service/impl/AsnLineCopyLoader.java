@@ -0,0 +1,253 @@
+package com.middleware.processor.service.impl;
+
+import com.middleware.processor.config.AsnProcessingConfig;
+import com.middleware.processor.model.AsnLine;
+import jakarta.persistence.Column;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Transient;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Bulk loader streaming ASN lines into {@code asn_lines} with the PostgreSQL COPY protocol (CSV format).
+ * Line IDs are taken from the same pooled sequence Hibernate uses, so both paths can be mixed.
+ * On other databases (H2) the loader reports itself as unavailable and the JPA batch path is used.
+ */
+@Component
+public class AsnLineCopyLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsnLineCopyLoader.class);
+
+    private static final ThreadLocal<SimpleDateFormat> TIMESTAMP_FORMAT =
+        ThreadLocal.withInitial(() -> new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS"));
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private AsnProcessingConfig asnProcessingConfig;
+
+    private volatile Boolean postgres;
+    private volatile CopyMapping mapping;
+
+    /**
+     * Whether a document with the given number of lines should be loaded with COPY.
+     */
+    public boolean supports(long expectedLineCount) {
+        long threshold = asnProcessingConfig.getCopyThreshold();
+        return threshold > 0 && expectedLineCount >= threshold && isPostgres();
+    }
+
+    /**
+     * Copy the lines into asn_lines within the current transaction.
+     * Their header must already be persisted; pending JPA changes are flushed first.
+     *
+     * @param lines The mapped lines, not yet persisted
+     * @return The same lines with their IDs assigned
+     */
+    public List<AsnLine> copyLines(List<AsnLine> lines) {
+        if (lines.isEmpty()) {
+            return lines;
+        }
+        CopyMapping copyMapping = getMapping();
+
+        // The header row has to exist before the lines referencing it are copied
+        entityManager.flush();
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            assignIds(connection, copyMapping, lines);
+
+            LocalDateTime now = LocalDateTime.now();
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copyMapping.sql);
+            try {
+                StringBuilder row = new StringBuilder(512);
+                for (AsnLine line : lines) {
+                    if (line.getCreatedAt() == null) {
+                        line.setCreatedAt(now);
+                    }
+                    if (line.getUpdatedAt() == null) {
+                        line.setUpdatedAt(now);
+                    }
+                    row.setLength(0);
+                    copyMapping.appendRow(row, line);
+                    byte[] bytes = row.toString().getBytes(StandardCharsets.UTF_8);
+                    copyIn.writeToCopy(bytes, 0, bytes.length);
+                }
+                long copied = copyIn.endCopy();
+                logger.debug("Copied {} ASN line(s) into asn_lines", copied);
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+            return lines;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to bulk load ASN lines: " + e.getMessage(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private void assignIds(Connection connection, CopyMapping copyMapping, List<AsnLine> lines) throws SQLException {
+        // Each sequence value is the upper end of a block of allocationSize IDs (pooled optimizer)
+        int blocks = (lines.size() + copyMapping.allocationSize - 1) / copyMapping.allocationSize;
+        int index = 0;
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT nextval('" + copyMapping.sequenceName + "') FROM generate_series(1, ?)")) {
+            statement.setInt(1, blocks);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next() && index < lines.size()) {
+                    long hi = resultSet.getLong(1);
+                    for (long id = hi - copyMapping.allocationSize + 1; id <= hi && index < lines.size(); id++) {
+                        lines.get(index++).setId(id);
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            try (Connection connection = dataSource.getConnection()) {
+                postgres = connection.isWrapperFor(PGConnection.class);
+            } catch (SQLException e) {
+                logger.warn("Could not determine database type for ASN bulk loading: {}", e.getMessage());
+                return false;
+            }
+            logger.info("PostgreSQL COPY loading for ASN lines is {}", postgres ? "available" : "not available");
+        }
+        return postgres;
+    }
+
+    private CopyMapping getMapping() {
+        if (mapping == null) {
+            mapping = new CopyMapping(entityManagerFactory.getPersistenceUnitUtil());
+        }
+        return mapping;
+    }
+
+    /**
+     * Column list and value getters of AsnLine, read once from its JPA annotations.
+     */
+    private static class CopyMapping {
+        private final List<String> columns = new ArrayList<>();
+        private final List<MethodHandle> getters = new ArrayList<>();
+        private final List<Boolean> associations = new ArrayList<>();
+        private final PersistenceUnitUtil persistenceUnitUtil;
+        private final String sql;
+        private final String sequenceName;
+        private final int allocationSize;
+
+        private CopyMapping(PersistenceUnitUtil persistenceUnitUtil) {
+            this.persistenceUnitUtil = persistenceUnitUtil;
+            String sequence = null;
+            int allocation = 1;
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            for (Class<?> type = AsnLine.class; type != null && type != Object.class; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || field.isAnnotationPresent(Transient.class)) {
+                        continue;
+                    }
+                    Column column = field.getAnnotation(Column.class);
+                    JoinColumn joinColumn = field.getAnnotation(JoinColumn.class);
+                    if (column == null && joinColumn == null) {
+                        continue;
+                    }
+                    if (field.isAnnotationPresent(Id.class)) {
+                        SequenceGenerator generator = field.getAnnotation(SequenceGenerator.class);
+                        sequence = generator.sequenceName();
+                        allocation = generator.allocationSize();
+                    }
+                    try {
+                        field.setAccessible(true);
+                        getters.add(lookup.unreflectGetter(field));
+                    } catch (IllegalAccessException e) {
+                        throw new IllegalStateException("Cannot read field " + field.getName() + " of AsnLine", e);
+                    }
+                    columns.add(column != null ? column.name() : joinColumn.name());
+                    associations.add(joinColumn != null);
+                }
+            }
+            this.sequenceName = sequence;
+            this.allocationSize = allocation;
+            this.sql = "COPY asn_lines (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)";
+        }
+
+        private void appendRow(StringBuilder row, AsnLine line) {
+            for (int i = 0; i < getters.size(); i++) {
+                if (i > 0) {
+                    row.append(',');
+                }
+                Object value;
+                try {
+                    value = getters.get(i).invoke(line);
+                } catch (Throwable e) {
+                    throw new IllegalStateException("Cannot read column " + columns.get(i) + " of AsnLine", e);
+                }
+                if (value != null && associations.get(i)) {
+                    value = persistenceUnitUtil.getIdentifier(value);
+                }
+                appendValue(row, value);
+            }
+            row.append('\n');
+        }
+
+        private static void appendValue(StringBuilder row, Object value) {
+            // An unquoted empty field is NULL in CSV format, so all text is quoted
+            if (value == null) {
+                return;
+            }
+            if (value instanceof Number) {
+                row.append(value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString());
+            } else if (value instanceof Boolean) {
+                row.append(value);
+            } else if (value instanceof Date) {
+                row.append(TIMESTAMP_FORMAT.get().format((Date) value));
+            } else {
+                String text = value.toString();
+                row.append('"');
+                if (text.indexOf('"') >= 0) {
+                    row.append(text.replace("\"", "\"\""));
+                } else {
+                    row.append(text);
+                }
+                row.append('"');
+            }
+        }
+    }
+}
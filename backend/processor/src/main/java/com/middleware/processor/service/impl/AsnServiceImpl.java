@@ -6,9 +6,14 @@ import com.middleware.processor.model.AsnLine;
 import com.middleware.processor.repository.AsnHeaderRepository;
 import com.middleware.processor.repository.AsnLineRepository;
 import com.middleware.processor.service.interfaces.AsnService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,6 +31,15 @@ public class AsnServiceImpl implements AsnService {
     @Autowired
     private AsnLineRepository asnLineRepository;
 
+    @Autowired
+    private AsnLineCopyLoader asnLineCopyLoader;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
+
     // ASN Header operations
     @Override
     @Transactional
@@ -59,6 +73,13 @@ public class AsnServiceImpl implements AsnService {
         return asnHeaderRepository.findByClient_Id(clientId, pageable);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<AsnHeader> getAsnHeadersByClientAfter(Long clientId, Long afterId, int size) {
+        return asnHeaderRepository.findByClient_IdAndIdGreaterThanOrderByIdAsc(
+            clientId, afterId != null ? afterId : 0L, PageRequest.of(0, size));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<AsnHeader> findByAsnNumberAndClient_Id(String asnNumber, Long clientId) {
@@ -142,6 +163,20 @@ public class AsnServiceImpl implements AsnService {
         return asnLineRepository.findByHeader_Id(headerId, pageable);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<AsnLine> getAsnLinesByHeaderAfter(Long headerId, Long afterId, int size) {
+        return asnLineRepository.findByHeader_IdAndIdGreaterThanOrderByIdAsc(
+            headerId, afterId != null ? afterId : 0L, PageRequest.of(0, size));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<AsnLine> getAsnLinesByClientAfter(Long clientId, Long afterId, int size) {
+        return asnLineRepository.findByClient_IdAndIdGreaterThanOrderByIdAsc(
+            clientId, afterId != null ? afterId : 0L, PageRequest.of(0, size));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<AsnLine> getAsnLinesByClient_Id(Long clientId, Pageable pageable) {
@@ -228,10 +263,25 @@ public class AsnServiceImpl implements AsnService {
     @Override
     @Transactional
     public List<AsnLine> createAsnLines(List<AsnLine> lines) {
-        List<AsnLine> savedLines = new ArrayList<>();
-        for (AsnLine line : lines) {
-            savedLines.add(asnLineRepository.save(line));
+        // Lines take their IDs from a pooled sequence, so Hibernate sends each chunk as one JDBC batch
+        int batchSize = Math.max(1, jdbcBatchSize);
+        List<AsnLine> savedLines = new ArrayList<>(lines.size());
+        for (int from = 0; from < lines.size(); from += batchSize) {
+            List<AsnLine> chunk = asnLineRepository.saveAll(lines.subList(from, Math.min(from + batchSize, lines.size())));
+            entityManager.flush();
+            // Saved lines are not modified afterwards, keep the persistence context small
+            chunk.forEach(entityManager::detach);
+            savedLines.addAll(chunk);
         }
         return savedLines;
     }
+
+    @Override
+    @Transactional
+    public List<AsnLine> createAsnLines(List<AsnLine> lines, long expectedLineCount) {
+        if (asnLineCopyLoader.supports(expectedLineCount)) {
+            return asnLineCopyLoader.copyLines(lines);
+        }
+        return createAsnLines(lines);
+    }
 } 
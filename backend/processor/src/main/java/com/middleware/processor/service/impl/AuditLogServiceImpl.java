@@ -1,14 +1,18 @@
 package com.middleware.processor.service.impl;
 
+import com.middleware.processor.dto.KeysetCursor;
 import com.middleware.processor.model.AuditLog;
 import com.middleware.processor.model.AuditLogEntry;
 import com.middleware.processor.repository.AuditLogRepository;
 import com.middleware.processor.repository.AuditLogEntryRepository;
+import com.middleware.processor.service.audit.AuditLogRetention;
 import com.middleware.processor.service.interfaces.AuditLogService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +28,9 @@ public class AuditLogServiceImpl implements AuditLogService {
     @Autowired
     private AuditLogEntryRepository auditLogEntryRepository;
 
+    @Autowired
+    private AuditLogRetention auditLogRetention;
+
     @Override
     @Transactional
     public AuditLogEntry saveAuditLog(AuditLogEntry auditLogEntry) {
@@ -104,16 +111,16 @@ public class AuditLogServiceImpl implements AuditLogService {
     }
 
     @Override
-    @Transactional
-    public void deleteAuditLogsOlderThan(LocalDateTime date) {
-        auditLogRepository.deleteByCreatedAtBefore(date);
+    @Transactional(readOnly = true)
+    public Slice<AuditLog> getAuditLogsAfter(KeysetCursor after, int size, String username, Long clientId, String action) {
+        Pageable pageable = PageRequest.of(0, size,
+            Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id")));
+        return auditLogRepository.findSliceAfter(after.getTimestamp(), after.getId(), username, clientId, action, pageable);
     }
 
-    @Transactional
-    @Scheduled(cron = "0 0 0 * * *") // Run at midnight every day
-    public void cleanupOldAuditLogs() {
-        // Delete audit logs older than 30 days
-        LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
-        deleteAuditLogsOlderThan(thirtyDaysAgo);
+    @Override
+    public void deleteAuditLogsOlderThan(LocalDateTime date) {
+        // Deleted in chunks, each in its own transaction; the nightly cleanup is done by AuditLogRetention
+        auditLogRetention.deleteOlderThan(AuditLogRetention.HTTP_AUDIT_LOGS, date);
     }
 } 
@@ -9,8 +9,10 @@ import com.middleware.processor.repository.ClientRepository;
 import com.middleware.processor.repository.InterfaceRepository;
 import com.middleware.processor.repository.MappingRuleRepository;
 import com.middleware.processor.service.interfaces.ClientOnboardingService;
+import com.middleware.processor.service.mapping.MappingRulesChangedEvent;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -28,6 +30,7 @@ public class ClientOnboardingServiceImpl implements ClientOnboardingService {
     private final ClientRepository clientRepository;
     private final MappingRuleRepository mappingRuleRepository;
     private final InterfaceRepository interfaceRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private final ObjectMapper objectMapper;
     private final YAMLFactory yamlFactory;
 
@@ -35,10 +38,12 @@ public class ClientOnboardingServiceImpl implements ClientOnboardingService {
     public ClientOnboardingServiceImpl(
             ClientRepository clientRepository, 
             MappingRuleRepository mappingRuleRepository,
-            InterfaceRepository interfaceRepository) {
+            InterfaceRepository interfaceRepository,
+            ApplicationEventPublisher eventPublisher) {
         this.clientRepository = clientRepository;
         this.mappingRuleRepository = mappingRuleRepository;
         this.interfaceRepository = interfaceRepository;
+        this.eventPublisher = eventPublisher;
         this.objectMapper = new ObjectMapper();
         this.yamlFactory = new YAMLFactory();
     }
@@ -57,6 +62,7 @@ public class ClientOnboardingServiceImpl implements ClientOnboardingService {
             rule.setClient(savedClient);
             mappingRuleRepository.save(rule);
         });
+        eventPublisher.publishEvent(new MappingRulesChangedEvent(savedClient.getId()));
         return savedClient;
     }
 
@@ -74,6 +80,7 @@ public class ClientOnboardingServiceImpl implements ClientOnboardingService {
             newRule.setClient(savedClient);
             mappingRuleRepository.save(newRule);
         });
+        eventPublisher.publishEvent(new MappingRulesChangedEvent(savedClient.getId()));
         
         return savedClient;
     }
@@ -144,6 +151,7 @@ public class ClientOnboardingServiceImpl implements ClientOnboardingService {
                 throw new RuntimeException("Error processing configuration file", e);
             }
         }
+        eventPublisher.publishEvent(new MappingRulesChangedEvent(clientId));
     }
 
     private boolean isValidConfiguration(Map<String, Object> config) {
@@ -9,10 +9,12 @@ import com.middleware.processor.repository.InterfaceRepository;
 import com.middleware.processor.repository.MappingRuleRepository;
 import com.middleware.processor.repository.ProcessedFileRepository;
 import com.middleware.processor.service.interfaces.InterfaceService;
+import com.middleware.processor.service.mapping.MappingRulesChangedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -47,6 +49,7 @@ public class InterfaceServiceImpl implements InterfaceService {
     private final InterfaceRepository interfaceRepository;
     private final MappingRuleRepository mappingRuleRepository;
     private final ProcessedFileRepository processedFileRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private final Logger logger = LoggerFactory.getLogger(InterfaceServiceImpl.class);
     
     @Override
@@ -118,6 +121,7 @@ public class InterfaceServiceImpl implements InterfaceService {
             // First delete all mapping rules associated with this interface
             logger.debug("Deleting mapping rules for interface ID: {}", id);
             mappingRuleRepository.deleteByInterfaceId(id);
+            eventPublisher.publishEvent(new MappingRulesChangedEvent(null));
 
             // Then delete all processed files associated with this interface
             logger.debug("Deleting processed files for interface ID: {}", id);
@@ -340,6 +344,7 @@ public class InterfaceServiceImpl implements InterfaceService {
             
             // Clear existing mappings
             mappingRuleRepository.deleteByInterfaceId(interfaceId);
+            eventPublisher.publishEvent(new MappingRulesChangedEvent(client.getId()));
             
             // Add new mappings
             return mappings.stream()
@@ -6,7 +6,9 @@ import com.middleware.processor.model.MappingRule;
 import com.middleware.processor.repository.InterfaceRepository;
 import com.middleware.processor.repository.MappingRuleRepository;
 import com.middleware.processor.service.interfaces.MappingRuleService;
+import com.middleware.processor.service.mapping.MappingRulesChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -25,6 +27,9 @@ public class MappingRuleServiceImpl implements MappingRuleService {
     @Autowired
     private InterfaceRepository interfaceRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     @Transactional
     public MappingRule createMappingRule(MappingRule mappingRule) {
@@ -32,7 +37,9 @@ public class MappingRuleServiceImpl implements MappingRuleService {
         if (mappingRule.getClient() == null && ClientContextHolder.getClient() != null) {
             mappingRule.setClient(ClientContextHolder.getClient());
         }
-        return mappingRuleRepository.save(mappingRule);
+        MappingRule savedRule = mappingRuleRepository.save(mappingRule);
+        publishRulesChanged(savedRule.getClientId());
+        return savedRule;
     }
 
     @Override
@@ -77,7 +84,9 @@ public class MappingRuleServiceImpl implements MappingRuleService {
         mappingRule.setIsAttribute(mappingRuleDetails.getIsAttribute());
         mappingRule.setXsdElement(mappingRuleDetails.getXsdElement());
         
-        return mappingRuleRepository.save(mappingRule);
+        MappingRule savedRule = mappingRuleRepository.save(mappingRule);
+        publishRulesChanged(savedRule.getClientId());
+        return savedRule;
     }
 
     @Override
@@ -90,18 +99,29 @@ public class MappingRuleServiceImpl implements MappingRuleService {
         } else {
             mappingRuleRepository.deleteById(id);
         }
+        publishRulesChanged(clientId);
     }
     
     @Override
     @Transactional
     public void saveMappingConfiguration(List<MappingRule> rules) {
         mappingRuleRepository.saveAll(rules);
+        rules.stream()
+            .map(MappingRule::getClientId)
+            .distinct()
+            .forEach(this::publishRulesChanged);
     }
     
     @Override
     @Transactional
     public void deleteByClient_IdAndTableName(Long clientId, String tableName) {
         mappingRuleRepository.deleteByClient_IdAndTableName(clientId, tableName);
+        publishRulesChanged(clientId);
+    }
+
+    private void publishRulesChanged(Long clientId) {
+        // Compiled mapping plans are dropped once the surrounding transaction commits
+        eventPublisher.publishEvent(new MappingRulesChangedEvent(clientId));
     }
 
     @Override
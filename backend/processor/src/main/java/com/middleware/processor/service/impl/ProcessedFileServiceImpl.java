@@ -1,5 +1,7 @@
 package com.middleware.processor.service.impl;
 
+import com.middleware.processor.dto.KeysetCursor;
+import com.middleware.processor.dto.ProcessedFileSummary;
 import com.middleware.processor.exception.ResourceNotFoundException;
 import com.middleware.processor.exception.ValidationException;
 import com.middleware.processor.model.ProcessedFile;
@@ -9,10 +11,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -27,6 +35,9 @@ public class ProcessedFileServiceImpl implements ProcessedFileService {
     @Autowired
     private ProcessedFileRepository processedFileRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Override
     @Transactional(readOnly = true)
     public Page<ProcessedFile> getAllProcessedFiles(Pageable pageable) {
@@ -160,6 +171,57 @@ public class ProcessedFileServiceImpl implements ProcessedFileService {
         return processedFileRepository.findAll(pageable);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ProcessedFileSummary> getProcessedFileSummaries(Long clientId, Long interfaceId, String status, String fileName,
+                                                                LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
+        return processedFileRepository.findSummaries(clientId, interfaceId, emptyToNull(status), emptyToNull(fileName),
+            startDate, endDate, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ProcessedFileSummary> getProcessedFileSummary(Long id) {
+        return processedFileRepository.findSummaryById(id);
+    }
+
+    @Override
+    public boolean writeContent(Long id, Writer writer) throws IOException {
+        try {
+            Boolean written = jdbcTemplate.query("SELECT content FROM processed_files WHERE id = ?", rs -> {
+                if (!rs.next()) {
+                    return false;
+                }
+                try (Reader reader = rs.getCharacterStream(1)) {
+                    if (reader == null) {
+                        return false;
+                    }
+                    reader.transferTo(writer);
+                    return true;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, id);
+            return Boolean.TRUE.equals(written);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static String emptyToNull(String value) {
+        return value != null && !value.isEmpty() ? value : null;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<ProcessedFileSummary> getProcessedFilesAfter(KeysetCursor after, int size,
+                                                       Long clientId, Long interfaceId, String status) {
+        Pageable pageable = PageRequest.of(0, size,
+            Sort.by(Sort.Direction.DESC, "processedAt").and(Sort.by(Sort.Direction.DESC, "id")));
+        return processedFileRepository.findSliceAfter(after.getTimestamp(), after.getId(),
+            clientId, interfaceId, emptyToNull(status), pageable);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<ProcessedFile> getProcessedFilesByClient(Long clientId, int page, int size, String sortBy, String sortDirection) {
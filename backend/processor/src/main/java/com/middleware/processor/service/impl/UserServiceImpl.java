@@ -5,6 +5,9 @@ import com.middleware.processor.repository.UserRepository;
 import com.middleware.processor.service.interfaces.UserService;
 import com.middleware.processor.annotation.AuditLog;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -14,6 +17,8 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -23,13 +28,20 @@ import java.util.stream.Collectors;
 @Transactional
 public class UserServiceImpl implements UserService {
 
+    /**
+     * Cache of the user details loaded by the JWT filter on every authenticated request.
+     */
+    public static final String USER_DETAILS_CACHE = "userDetails";
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CacheManager cacheManager;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, CacheManager cacheManager) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.cacheManager = cacheManager;
     }
 
     @Override
@@ -70,6 +82,8 @@ public class UserServiceImpl implements UserService {
     public Optional<User> updateUser(Long id, User userDetails) {
         return userRepository.findById(id)
             .map(existingUser -> {
+                evictUserDetails(existingUser.getUsername());
+                evictUserDetails(userDetails.getUsername());
                 existingUser.setUsername(userDetails.getUsername());
                 if (userDetails.getPassword() != null && !userDetails.getPassword().isEmpty()) {
                     existingUser.setPassword(passwordEncoder.encode(userDetails.getPassword()));
@@ -83,6 +97,7 @@ public class UserServiceImpl implements UserService {
     @Override
     @AuditLog("Delete user")
     public void deleteUser(Long id) {
+        userRepository.findById(id).ifPresent(user -> evictUserDetails(user.getUsername()));
         userRepository.deleteById(id);
     }
 
@@ -93,6 +108,7 @@ public class UserServiceImpl implements UserService {
                 if (passwordEncoder.matches(oldPassword, user.getPassword())) {
                     user.setPassword(passwordEncoder.encode(newPassword));
                     userRepository.save(user);
+                    evictUserDetails(user.getUsername());
                     return true;
                 }
                 return false;
@@ -105,6 +121,7 @@ public class UserServiceImpl implements UserService {
         userRepository.findById(id).ifPresent(user -> {
             user.setPassword(passwordEncoder.encode(newPassword));
             userRepository.save(user);
+            evictUserDetails(user.getUsername());
         });
     }
 
@@ -113,7 +130,13 @@ public class UserServiceImpl implements UserService {
         return !userRepository.existsByUsername(username);
     }
 
+    /**
+     * Load the user details of a username; cached because the JWT filter calls this on every request.
+     * Cached entries are evicted whenever the user, its roles or its password change.
+     */
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(value = USER_DETAILS_CACHE, key = "#username")
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username)
             .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
@@ -126,4 +149,21 @@ public class UserServiceImpl implements UserService {
                 .collect(Collectors.toList()))
             .build();
     }
-} 
+
+    private void evictUserDetails(String username) {
+        Cache cache = cacheManager.getCache(USER_DETAILS_CACHE);
+        if (cache == null || username == null) {
+            return;
+        }
+        cache.evict(username);
+        // Evict again once committed, in case a concurrent request reloaded the old state meanwhile
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(username);
+                }
+            });
+        }
+    }
+}
@@ -4,10 +4,18 @@ import com.middleware.processor.exception.ValidationException;
 import com.middleware.processor.model.ProcessedFile;
 import com.middleware.processor.model.Interface;
 import com.middleware.processor.repository.InterfaceRepository;
+import com.middleware.processor.repository.ProcessedFileRepository;
 import com.middleware.processor.service.interfaces.ProcessedFileService;
 import com.middleware.processor.service.interfaces.XmlProcessorService;
 import com.middleware.processor.service.interfaces.DocumentProcessingStrategyService;
+import com.middleware.processor.service.upload.FileSpool;
+import com.middleware.processor.service.upload.ProcessingStatusEvent;
+import com.middleware.processor.service.upload.SpooledMultipartFile;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -20,8 +28,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.transaction.TransactionDefinition;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.time.LocalDateTime;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -46,6 +58,19 @@ public class XmlProcessorServiceImpl implements XmlProcessorService {
     @Autowired
     private PlatformTransactionManager transactionManager;
 
+    @Autowired
+    private ProcessedFileRepository processedFileRepository;
+
+    @Autowired
+    private FileSpool fileSpool;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    @Qualifier("xmlProcessorExecutor")
+    private Executor xmlProcessorExecutor;
+
     @Override
     @Transactional
     public ProcessedFile processXmlFile(MultipartFile file, Interface interfaceEntity) {
@@ -85,68 +110,10 @@ public class XmlProcessorServiceImpl implements XmlProcessorService {
     public CompletableFuture<ProcessedFile> processXmlFileAsync(MultipartFile file, Long interfaceId) {
         return CompletableFuture.supplyAsync(() -> {
             AtomicReference<ProcessedFile> processedFileRef = new AtomicReference<>(new ProcessedFile());
-            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
-            transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
-            transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
-            
             try {
                 // First transaction: Load interface and initialize basic file record
-                processedFileRef.set(transactionTemplate.execute(status -> {
-                    Interface interfaceEntity = interfaceRepository.findById(interfaceId)
-                        .orElseThrow(() -> new ValidationException("Interface not found with id: " + interfaceId));
-                    Hibernate.initialize(interfaceEntity.getClient());
-                    
-                    // Create initial record
-                    ProcessedFile processedFile = processedFileRef.get();
-                    processedFile.setFileName(file.getOriginalFilename());
-                    processedFile.setStatus("PROCESSING");
-                    processedFile.setInterfaceEntity(interfaceEntity);
-                    processedFile.setClient(interfaceEntity.getClient());
-                    processedFile.setProcessedAt(LocalDateTime.now());
-                    return processedFileService.createProcessedFile(processedFile);
-                }));
-
-                // Second transaction: Process the file
-                TransactionTemplate processingTemplate = new TransactionTemplate(transactionManager);
-                processingTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
-                processingTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
-                
-                return processingTemplate.execute(status -> {
-                    try {
-                        Interface interfaceEntity = interfaceRepository.findById(interfaceId)
-                            .orElseThrow(() -> new ValidationException("Interface not found with id: " + interfaceId));
-                        Hibernate.initialize(interfaceEntity.getClient());
-                        
-                        log.debug("Starting XML file processing with interface: {}", interfaceEntity.getName());
-                        final ProcessedFile result;
-                        
-                        try {
-                            result = processXmlFile(file, interfaceEntity);
-                            log.debug("XML processing completed. Result status: {}", result.getStatus());
-                            
-                            // Update existing record instead of creating new one
-                            ProcessedFile existingFile = processedFileRef.get();
-                            existingFile.setStatus(result.getStatus());
-                            if (result.getErrorMessage() != null) {
-                                existingFile.setErrorMessage(result.getErrorMessage());
-                            }
-                            existingFile.setContent(result.getContent());
-                            return processedFileService.updateProcessedFile(existingFile.getId(), existingFile);
-                        } catch (Exception processingError) {
-                            log.error("Error in XML processing: ", processingError);
-                            throw processingError;
-                        }
-                    } catch (Exception e) {
-                        log.error("Error processing file: ", e);
-                        
-                        // Only update the status to ERROR, preserve the existing error message
-                        ProcessedFile existingFile = processedFileRef.get();
-                        existingFile.setStatus("ERROR");
-                        // Do not update error message here to preserve the original one
-                        log.debug("Updating processed file status to ERROR while preserving error message");
-                        return processedFileService.updateProcessedFile(existingFile.getId(), existingFile);
-                    }
-                });
+                processedFileRef.set(createProcessingRecord(file.getOriginalFilename(), interfaceId));
+                return processRecord(processedFileRef.get(), file, interfaceId);
             } catch (Exception e) {
                 log.error("Critical error: ", e);
                 log.debug("Detailed critical error context: ", e);
@@ -160,6 +127,142 @@ public class XmlProcessorServiceImpl implements XmlProcessorService {
         });
     }
 
+    @Override
+    public ProcessedFile submitXmlFile(MultipartFile file, Long interfaceId) throws IOException {
+        ProcessedFile processedFile = createProcessingRecord(file.getOriginalFilename(), interfaceId);
+        SpooledMultipartFile spooledFile;
+        try {
+            spooledFile = fileSpool.spool(processedFile.getId(), file);
+        } catch (IOException e) {
+            markFailed(processedFile, "Failed to spool uploaded file: " + e.getMessage());
+            throw e;
+        }
+
+        try {
+            xmlProcessorExecutor.execute(() -> processSpooled(processedFile, spooledFile, interfaceId));
+        } catch (RejectedExecutionException e) {
+            fileSpool.delete(processedFile.getId());
+            markFailed(processedFile, "Processing queue is full, please retry later");
+            throw e;
+        }
+        log.debug("Queued file {} for asynchronous processing as processed file {}", file.getOriginalFilename(), processedFile.getId());
+        return processedFile;
+    }
+
+    /**
+     * Resume processing of uploads left in the spool by a previous run.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeSpooledFiles() {
+        for (Long processedFileId : fileSpool.listSpooled()) {
+            Optional<ProcessedFile> processedFile = processedFileRepository.findById(processedFileId);
+            if (processedFile.isEmpty() || !"PROCESSING".equals(processedFile.get().getStatus())
+                    || processedFile.get().getInterfaceEntity() == null) {
+                fileSpool.delete(processedFileId);
+                continue;
+            }
+            try {
+                ProcessedFile record = processedFile.get();
+                Long interfaceId = record.getInterfaceEntity().getId();
+                SpooledMultipartFile spooledFile = fileSpool.open(processedFileId, record.getFileName());
+                xmlProcessorExecutor.execute(() -> processSpooled(record, spooledFile, interfaceId));
+                log.info("Resumed processing of spooled file {} (processed file {})", record.getFileName(), processedFileId);
+            } catch (IOException | RejectedExecutionException e) {
+                log.warn("Could not resume spooled processed file {}: {}", processedFileId, e.getMessage());
+            }
+        }
+    }
+
+    private void processSpooled(ProcessedFile processedFile, SpooledMultipartFile spooledFile, Long interfaceId) {
+        ProcessedFile result = processedFile;
+        try {
+            result = processRecord(processedFile, spooledFile, interfaceId);
+        } catch (Exception e) {
+            log.error("Critical error: ", e);
+            result = markFailed(processedFile, null);
+        } finally {
+            fileSpool.delete(processedFile.getId());
+            eventPublisher.publishEvent(new ProcessingStatusEvent(result.getId(), result.getStatus(), result.getErrorMessage()));
+        }
+    }
+
+    private ProcessedFile markFailed(ProcessedFile processedFile, String errorMessage) {
+        processedFile.setStatus("ERROR");
+        if (errorMessage != null) {
+            processedFile.setErrorMessage(errorMessage);
+        }
+        return processedFileService.updateProcessedFile(processedFile.getId(), processedFile);
+    }
+
+    /**
+     * Create the PROCESSING record of an upload in its own transaction, so it is visible right away.
+     */
+    private ProcessedFile createProcessingRecord(String fileName, Long interfaceId) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+
+        return transactionTemplate.execute(status -> {
+            Interface interfaceEntity = interfaceRepository.findById(interfaceId)
+                .orElseThrow(() -> new ValidationException("Interface not found with id: " + interfaceId));
+            Hibernate.initialize(interfaceEntity.getClient());
+            
+            // Create initial record
+            ProcessedFile processedFile = new ProcessedFile();
+            processedFile.setFileName(fileName);
+            processedFile.setStatus("PROCESSING");
+            processedFile.setInterfaceEntity(interfaceEntity);
+            processedFile.setClient(interfaceEntity.getClient());
+            processedFile.setProcessedAt(LocalDateTime.now());
+            return processedFileService.createProcessedFile(processedFile);
+        });
+    }
+
+    /**
+     * Process a file for an existing record and copy the outcome onto it.
+     */
+    private ProcessedFile processRecord(ProcessedFile existingFile, MultipartFile file, Long interfaceId) {
+        // Second transaction: Process the file
+        TransactionTemplate processingTemplate = new TransactionTemplate(transactionManager);
+        processingTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        processingTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        
+        return processingTemplate.execute(status -> {
+            try {
+                Interface interfaceEntity = interfaceRepository.findById(interfaceId)
+                    .orElseThrow(() -> new ValidationException("Interface not found with id: " + interfaceId));
+                Hibernate.initialize(interfaceEntity.getClient());
+                
+                log.debug("Starting XML file processing with interface: {}", interfaceEntity.getName());
+                final ProcessedFile result;
+                
+                try {
+                    result = processXmlFile(file, interfaceEntity);
+                    log.debug("XML processing completed. Result status: {}", result.getStatus());
+                    
+                    // Update existing record instead of creating new one
+                    existingFile.setStatus(result.getStatus());
+                    if (result.getErrorMessage() != null) {
+                        existingFile.setErrorMessage(result.getErrorMessage());
+                    }
+                    existingFile.setContent(result.getContent());
+                    return processedFileService.updateProcessedFile(existingFile.getId(), existingFile);
+                } catch (Exception processingError) {
+                    log.error("Error in XML processing: ", processingError);
+                    throw processingError;
+                }
+            } catch (Exception e) {
+                log.error("Error processing file: ", e);
+                
+                // Only update the status to ERROR, preserve the existing error message
+                existingFile.setStatus("ERROR");
+                // Do not update error message here to preserve the original one
+                log.debug("Updating processed file status to ERROR while preserving error message");
+                return processedFileService.updateProcessedFile(existingFile.getId(), existingFile);
+            }
+        });
+    }
+
     @Override
     @Transactional
     public void reprocessFile(Long fileId) {
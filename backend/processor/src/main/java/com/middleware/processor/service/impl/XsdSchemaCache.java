@@ -0,0 +1,266 @@
+package com.middleware.processor.service.impl;
+
+import com.middleware.processor.config.XmlValidationConfig;
+import com.middleware.processor.model.Interface;
+import com.middleware.processor.repository.InterfaceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import javax.xml.validation.Validator;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of compiled XSD schemas.
+ * Schema files are keyed by resolved path and last-modified time, so an edited XSD is recompiled
+ * on next use; inline XSD content is keyed by its SHA-256 hash. Schemas are thread-safe and shared,
+ * validators and parsers are not, so each cached schema hands out one of each per thread.
+ */
+@Slf4j
+@Component
+public class XsdSchemaCache {
+
+    private final XmlValidationConfig validationConfig;
+    private final InterfaceRepository interfaceRepository;
+    private final Map<String, CompiledSchema> schemas;
+
+    public XsdSchemaCache(XmlValidationConfig validationConfig, InterfaceRepository interfaceRepository) {
+        this.validationConfig = validationConfig;
+        this.interfaceRepository = interfaceRepository;
+        int maxSize = Math.max(1, validationConfig.getSchemaCacheSize());
+        this.schemas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledSchema> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Get the compiled schema of an interface's XSD file.
+     *
+     * @param schemaPath The schema path as stored on the interface
+     * @return The compiled schema
+     * @throws FileNotFoundException if the XSD cannot be found on disk or on the classpath
+     * @throws IOException if the XSD file cannot be read
+     * @throws SAXException if the XSD is not a valid schema
+     */
+    public CompiledSchema getSchemaForPath(String schemaPath) throws IOException, SAXException {
+        Path xsdPath = resolveSchemaPath(schemaPath);
+        String key = "file:" + xsdPath.toAbsolutePath() + "@" + Files.getLastModifiedTime(xsdPath).toMillis();
+        CompiledSchema compiled = get(key);
+        if (compiled == null) {
+            log.debug("Compiling XSD schema {}", xsdPath);
+            compiled = put(key, compile(new StreamSource(xsdPath.toFile())));
+        }
+        return compiled;
+    }
+
+    /**
+     * Get the compiled schema of inline XSD content.
+     *
+     * @param xsdContent The XSD document
+     * @return The compiled schema
+     * @throws SAXException if the XSD is not a valid schema
+     */
+    public CompiledSchema getSchemaForContent(String xsdContent) throws SAXException {
+        String key = "sha256:" + sha256(xsdContent);
+        CompiledSchema compiled = get(key);
+        if (compiled == null) {
+            log.debug("Compiling inline XSD schema ({} characters)", xsdContent.length());
+            compiled = put(key, compile(new StreamSource(new StringReader(xsdContent))));
+        }
+        return compiled;
+    }
+
+    /**
+     * Compile the schemas of all active interfaces so the first files don't pay for it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void precompileActiveInterfaces() {
+        if (!validationConfig.isPrecompileSchemas()) {
+            return;
+        }
+        List<Interface> interfaces = interfaceRepository.findByIsActive(true, Pageable.unpaged()).getContent();
+        int compiled = 0;
+        for (Interface interfaceEntity : interfaces) {
+            if (interfaceEntity.getSchemaPath() == null || interfaceEntity.getSchemaPath().isBlank()) {
+                continue;
+            }
+            try {
+                getSchemaForPath(interfaceEntity.getSchemaPath());
+                compiled++;
+            } catch (Exception e) {
+                log.warn("Could not precompile XSD schema {} of interface {}: {}",
+                    interfaceEntity.getSchemaPath(), interfaceEntity.getName(), e.getMessage());
+            }
+        }
+        log.info("Precompiled {} XSD schema(s) for {} active interface(s)", compiled, interfaces.size());
+    }
+
+    /**
+     * Resolve an interface schema path on disk, falling back to the classpath.
+     */
+    private Path resolveSchemaPath(String schemaPath) throws FileNotFoundException {
+        Path xsdPath = Paths.get(schemaPath);
+        if (Files.exists(xsdPath)) {
+            return xsdPath;
+        }
+        // Try as a classpath resource
+        try {
+            String resourcePath = schemaPath.replace("backend/src/main/resources/", "");
+            URL resource = getClass().getClassLoader().getResource(resourcePath);
+            if (resource != null) {
+                return Paths.get(resource.toURI());
+            }
+        } catch (Exception e) {
+            log.debug("Could not resolve XSD schema {} on the classpath: {}", schemaPath, e.getMessage());
+        }
+        throw new FileNotFoundException("XSD schema not found at path: " + xsdPath);
+    }
+
+    private synchronized CompiledSchema get(String key) {
+        return schemas.get(key);
+    }
+
+    private synchronized CompiledSchema put(String key, CompiledSchema compiled) {
+        // Keep a schema compiled concurrently by another thread
+        CompiledSchema existing = schemas.putIfAbsent(key, compiled);
+        return existing != null ? existing : compiled;
+    }
+
+    private CompiledSchema compile(StreamSource source) throws SAXException {
+        // SchemaFactory is not thread-safe; compiling is rare enough to create one each time
+        SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+
+        // Try all known property combinations for entity expansion limit
+        try {
+            factory.setProperty("http://www.oracle.com/xml/jaxp/properties/entityExpansionLimit",
+                              validationConfig.getEntityExpansionLimit());
+        } catch (SAXException e) {
+            log.debug("Could not set Oracle entity expansion limit", e);
+        }
+        try {
+            factory.setProperty("entityExpansionLimit", validationConfig.getEntityExpansionLimit());
+        } catch (SAXException e) {
+            log.debug("Could not set direct entity expansion limit", e);
+        }
+
+        // Configure security settings from config
+        factory.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD,
+                          validationConfig.isEnableExternalDtd() ? "all" : "");
+        factory.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA,
+                          validationConfig.isEnableExternalSchema() ? "all" : "");
+
+        // Set features from config
+        factory.setFeature("http://apache.org/xml/features/honour-all-schemaLocations",
+                         validationConfig.isHonourAllSchemaLocations());
+        factory.setFeature("http://apache.org/xml/features/validation/schema-full-checking",
+                         validationConfig.isEnableSchemaFullChecking());
+
+        return new CompiledSchema(factory.newSchema(source), validationConfig);
+    }
+
+    private static String sha256(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * A compiled schema and the validators and validating parsers created from it, one per thread.
+     */
+    public static class CompiledSchema {
+        private final Schema schema;
+        private final ThreadLocal<Validator> validators;
+        private final ThreadLocal<DocumentBuilder> documentBuilders;
+
+        private CompiledSchema(Schema schema, XmlValidationConfig validationConfig) {
+            this.schema = schema;
+            this.validators = ThreadLocal.withInitial(() -> createValidator(schema, validationConfig));
+            this.documentBuilders = ThreadLocal.withInitial(() -> createDocumentBuilder(schema));
+        }
+
+        public Schema getSchema() {
+            return schema;
+        }
+
+        /**
+         * @return The validator of the calling thread; it must not be shared with other threads
+         */
+        public Validator getValidator() {
+            Validator validator = validators.get();
+            validator.setErrorHandler(null);
+            return validator;
+        }
+
+        /**
+         * @return A namespace aware parser of the calling thread that validates against this schema
+         * while building the DOM; it must not be shared with other threads
+         */
+        public DocumentBuilder getDocumentBuilder() {
+            DocumentBuilder builder = documentBuilders.get();
+            builder.reset();
+            return builder;
+        }
+
+        private static DocumentBuilder createDocumentBuilder(Schema schema) {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            factory.setSchema(schema);
+            try {
+                return factory.newDocumentBuilder();
+            } catch (ParserConfigurationException e) {
+                throw new IllegalStateException("Could not create validating XML parser: " + e.getMessage(), e);
+            }
+        }
+
+        private static Validator createValidator(Schema schema, XmlValidationConfig validationConfig) {
+            Validator validator = schema.newValidator();
+            try {
+                // Configure validator with same settings from config
+                validator.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD,
+                                    validationConfig.isEnableExternalDtd() ? "all" : "");
+                validator.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA,
+                                    validationConfig.isEnableExternalSchema() ? "all" : "");
+                try {
+                    validator.setProperty("http://www.oracle.com/xml/jaxp/properties/entityExpansionLimit",
+                                        validationConfig.getEntityExpansionLimit());
+                } catch (SAXException e) {
+                    log.debug("Could not set Oracle entity expansion limit on validator", e);
+                }
+                validator.setFeature("http://apache.org/xml/features/validation/schema-full-checking",
+                                   validationConfig.isEnableSchemaFullChecking());
+            } catch (SAXException e) {
+                throw new IllegalStateException("Could not configure XML validator: " + e.getMessage(), e);
+            }
+            return validator;
+        }
+    }
+}
@@ -5,8 +5,10 @@ import com.middleware.processor.model.Interface;
 import com.middleware.processor.model.MappingRule;
 import com.middleware.processor.repository.MappingRuleRepository;
 import com.middleware.processor.service.interfaces.XsdService;
+import com.middleware.processor.service.mapping.MappingRulesChangedEvent;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -43,6 +45,9 @@ public class XsdServiceImpl implements XsdService {
     @Autowired
     private MappingRuleRepository mappingRuleRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public boolean validateXsdSchema(MultipartFile file) {
         try {
@@ -326,6 +331,7 @@ public class XsdServiceImpl implements XsdService {
     @Override
     public void deleteMappingRule(Long id) {
         mappingRuleRepository.deleteById(id);
+        eventPublisher.publishEvent(new MappingRulesChangedEvent(null));
     }
 
     @Override
@@ -341,6 +347,7 @@ public class XsdServiceImpl implements XsdService {
     @Override
     public void deleteByClient_IdAndTableName(Long clientId, String tableName) {
         mappingRuleRepository.deleteByClient_IdAndTableName(clientId, tableName);
+        eventPublisher.publishEvent(new MappingRulesChangedEvent(clientId));
     }
 
     @Override
@@ -436,5 +443,6 @@ public class XsdServiceImpl implements XsdService {
     @Override
     public void deleteMappingRulesByClientAndTable(Long clientId, String tableName) {
         mappingRuleRepository.deleteByClient_IdAndTableName(clientId, tableName);
+        eventPublisher.publishEvent(new MappingRulesChangedEvent(clientId));
     }
 } 
@@ -0,0 +1,94 @@
+package com.middleware.processor.service.inbound;
+
+import com.middleware.processor.config.InboundQueueConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Read side of the content store the listener spools received files to. Inbound messages carrying a
+ * ContentRef header are claim checks: the file is read from this store instead of the message body.
+ */
+@Component
+@ConditionalOnProperty(prefix = "inbound.queue", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class InboundContentStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(InboundContentStore.class);
+
+    private final Path directory;
+
+    public InboundContentStore(InboundQueueConfig config) {
+        this.directory = Path.of(config.getContentStore()).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Resolve a claim check to the stored file, after checking it is complete and unaltered.
+     *
+     * @param reference The ContentRef of the message
+     * @param checksum The SHA-256 the listener computed, or null to skip the check
+     * @return The file, or empty if it is missing, outside the store or doesn't match the checksum
+     */
+    public Optional<StoredInboundFile> open(String reference, String checksum, String fileName, String contentType)
+            throws IOException {
+        Path path = resolve(reference);
+        if (path == null || !Files.isRegularFile(path)) {
+            logger.error("Stored content {} of inbound file {} not found in {}", reference, fileName, directory);
+            return Optional.empty();
+        }
+        if (checksum != null) {
+            String actual = sha256(path);
+            if (!actual.equalsIgnoreCase(checksum)) {
+                logger.error("Stored content {} of inbound file {} has checksum {}, expected {}",
+                    reference, fileName, actual, checksum);
+                return Optional.empty();
+            }
+        }
+        return Optional.of(new StoredInboundFile(path, Files.size(path), fileName, contentType));
+    }
+
+    /**
+     * Delete a stored file once its message is acknowledged.
+     */
+    public void delete(String reference) {
+        Path path = resolve(reference);
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete stored content {}: {}", reference, e.getMessage());
+        }
+    }
+
+    private Path resolve(String reference) {
+        Path path = directory.resolve(reference).normalize();
+        // References come from the message, don't let them point outside the store
+        return path.startsWith(directory) && !path.equals(directory) ? path : null;
+    }
+
+    private static String sha256(Path path) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(path), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
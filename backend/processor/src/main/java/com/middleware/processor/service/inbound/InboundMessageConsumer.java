@@ -0,0 +1,168 @@
+package com.middleware.processor.service.inbound;
+
+import com.middleware.processor.config.ClientContextHolder;
+import com.middleware.processor.model.Interface;
+import com.middleware.processor.model.ProcessedFile;
+import com.middleware.processor.repository.InterfaceRepository;
+import com.middleware.processor.service.interfaces.DocumentProcessingStrategyService;
+import com.rabbitmq.client.Channel;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Consumes files received by the listener from the inbound.processor queue.
+ * Each message carries the file's ClientId and InterfaceId as headers and either the file as body or, when
+ * published as a claim check, a ContentRef header pointing to the file in the shared content store. It is
+ * processed with the interface's strategy and acknowledged only afterwards, so a crashed replica's messages
+ * go to another one. Claim-checked files are deleted from the store once acknowledged.
+ * Messages that can never be processed are rejected to the dead letter queue, unexpected failures are
+ * retried once by requeueing.
+ */
+@Component
+@ConditionalOnProperty(prefix = "inbound.queue", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class InboundMessageConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(InboundMessageConsumer.class);
+
+    static final String CLIENT_ID_HEADER = "ClientId";
+    static final String INTERFACE_ID_HEADER = "InterfaceId";
+    static final String CONTENT_REF_HEADER = "ContentRef";
+    static final String CONTENT_CHECKSUM_HEADER = "ContentChecksum";
+
+    private final DocumentProcessingStrategyService strategyService;
+    private final InterfaceRepository interfaceRepository;
+    private final InboundContentStore contentStore;
+    private final TransactionTemplate transactionTemplate;
+
+    public InboundMessageConsumer(DocumentProcessingStrategyService strategyService,
+                                  InterfaceRepository interfaceRepository,
+                                  InboundContentStore contentStore,
+                                  PlatformTransactionManager transactionManager) {
+        this.strategyService = strategyService;
+        this.interfaceRepository = interfaceRepository;
+        this.contentStore = contentStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @RabbitListener(queues = "${inbound.queue.name:inbound.processor}", containerFactory = "inboundListenerContainerFactory")
+    public void onMessage(Message message, Channel channel) throws IOException {
+        MessageProperties properties = message.getMessageProperties();
+        long deliveryTag = properties.getDeliveryTag();
+        Long clientId = longHeader(properties, CLIENT_ID_HEADER);
+        Long interfaceId = longHeader(properties, INTERFACE_ID_HEADER);
+        String fileName = fileNameOf(properties);
+        String contentRef = stringHeader(properties, CONTENT_REF_HEADER);
+
+        if (clientId == null || interfaceId == null) {
+            logger.error("Rejecting inbound message {}: missing {} or {} header", fileName, CLIENT_ID_HEADER, INTERFACE_ID_HEADER);
+            channel.basicReject(deliveryTag, false);
+            return;
+        }
+
+        try {
+            Optional<ProcessedFile> result = transactionTemplate.execute(status -> process(message, fileName, clientId, interfaceId));
+            if (result == null || result.isEmpty()) {
+                channel.basicReject(deliveryTag, false);
+                return;
+            }
+            // Files that failed validation or mapping are recorded as ERROR, redelivering won't change that
+            logger.info("Processed inbound file {} for client {} and interface {}: {}",
+                fileName, clientId, interfaceId, result.get().getStatus());
+            channel.basicAck(deliveryTag, false);
+            if (contentRef != null) {
+                contentStore.delete(contentRef);
+            }
+        } catch (Exception e) {
+            boolean requeue = !Boolean.TRUE.equals(properties.isRedelivered());
+            logger.error("Failed to process inbound file {} for client {} and interface {}, {}",
+                fileName, clientId, interfaceId, requeue ? "requeueing" : "rejecting to dead letter queue", e);
+            channel.basicNack(deliveryTag, false, requeue);
+        }
+    }
+
+    private Optional<ProcessedFile> process(Message message, String fileName, Long clientId, Long interfaceId) {
+        Optional<Interface> found = interfaceRepository.findById(interfaceId);
+        if (found.isEmpty()) {
+            logger.error("Rejecting inbound file {}: interface {} not found", fileName, interfaceId);
+            return Optional.empty();
+        }
+        Interface interfaceEntity = found.get();
+        Hibernate.initialize(interfaceEntity.getClient());
+        if (interfaceEntity.getClient() == null || !clientId.equals(interfaceEntity.getClient().getId())) {
+            logger.error("Rejecting inbound file {}: interface {} does not belong to client {}", fileName, interfaceId, clientId);
+            return Optional.empty();
+        }
+
+        Optional<? extends MultipartFile> file = fileOf(message, fileName);
+        if (file.isEmpty()) {
+            return Optional.empty();
+        }
+
+        ClientContextHolder.setClient(interfaceEntity.getClient());
+        try {
+            return Optional.of(strategyService.processDocument(file.get(), interfaceEntity));
+        } finally {
+            ClientContextHolder.clear();
+        }
+    }
+
+    private Optional<? extends MultipartFile> fileOf(Message message, String fileName) {
+        MessageProperties properties = message.getMessageProperties();
+        String contentRef = stringHeader(properties, CONTENT_REF_HEADER);
+        if (contentRef == null) {
+            return Optional.of(new InboundMessageFile(message.getBody(), fileName, properties.getContentType()));
+        }
+        try {
+            // The body is the claim check itself, the file's type isn't known
+            return contentStore.open(contentRef, stringHeader(properties, CONTENT_CHECKSUM_HEADER), fileName, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String stringHeader(MessageProperties properties, String name) {
+        Object value = properties.getHeaders().get(name);
+        return value != null && !value.toString().isBlank() ? value.toString() : null;
+    }
+
+    private static Long longHeader(MessageProperties properties, String name) {
+        Object value = properties.getHeaders().get(name);
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        if (value != null) {
+            try {
+                return Long.valueOf(value.toString().trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring non numeric {} header: {}", name, value);
+            }
+        }
+        return null;
+    }
+
+    private static String fileNameOf(MessageProperties properties) {
+        Map<String, Object> headers = properties.getHeaders();
+        for (String header : new String[] {"CamelFileName", "AS2MessageId"}) {
+            Object value = headers.get(header);
+            if (value != null && !value.toString().isBlank()) {
+                return value.toString();
+            }
+        }
+        String messageId = properties.getMessageId();
+        return (messageId != null ? messageId : "inbound-" + properties.getDeliveryTag()) + ".xml";
+    }
+}
@@ -4,6 +4,7 @@ import com.middleware.processor.model.AsnHeader;
 import com.middleware.processor.model.AsnLine;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -45,6 +46,16 @@ public interface AsnService {
      */
     Page<AsnHeader> getAsnHeadersByClient_Id(Long clientId, Pageable pageable);
 
+    /**
+     * Get the ASN headers of a client after a header ID, in ID order, without a count query.
+     *
+     * @param clientId The ID of the client
+     * @param afterId The ID of the last header of the previous slice, or null for the first slice
+     * @param size The slice size
+     * @return Slice of ASN headers
+     */
+    Slice<AsnHeader> getAsnHeadersByClientAfter(Long clientId, Long afterId, int size);
+
     /**
      * Find an ASN header by document number and client ID.
      *
@@ -114,6 +125,26 @@ public interface AsnService {
      */
     Page<AsnLine> getAsnLinesByHeader_Id(Long headerId, Pageable pageable);
 
+    /**
+     * Get the ASN lines of a header after a line ID, in line ID order, without a count query.
+     *
+     * @param headerId The ID of the ASN header
+     * @param afterId The ID of the last line of the previous slice, or null for the first slice
+     * @param size The slice size
+     * @return Slice of ASN lines
+     */
+    Slice<AsnLine> getAsnLinesByHeaderAfter(Long headerId, Long afterId, int size);
+
+    /**
+     * Get the ASN lines of a client after a line ID, in line ID order, without a count query.
+     *
+     * @param clientId The ID of the client
+     * @param afterId The ID of the last line of the previous slice, or null for the first slice
+     * @param size The slice size
+     * @return Slice of ASN lines
+     */
+    Slice<AsnLine> getAsnLinesByClientAfter(Long clientId, Long afterId, int size);
+
     /**
      * Get ASN lines by client ID with pagination.
      *
@@ -196,4 +227,15 @@ public interface AsnService {
      * @return The list of created ASN lines
      */
     List<AsnLine> createAsnLines(List<AsnLine> lines);
+
+    /**
+     * Create multiple ASN lines of a document, choosing the loader by the document's size.
+     * Documents expected to reach the COPY threshold are bulk loaded on PostgreSQL;
+     * everything else goes through {@link #createAsnLines(List)}.
+     *
+     * @param lines The list of ASN lines to create
+     * @param expectedLineCount The (estimated) total number of lines in the document
+     * @return The list of created ASN lines
+     */
+    List<AsnLine> createAsnLines(List<AsnLine> lines, long expectedLineCount);
 } 
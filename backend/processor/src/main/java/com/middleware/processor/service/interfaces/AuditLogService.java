@@ -1,9 +1,11 @@
 package com.middleware.processor.service.interfaces;
 
+import com.middleware.processor.dto.KeysetCursor;
 import com.middleware.processor.model.AuditLog;
 import com.middleware.processor.model.AuditLogEntry;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import java.time.LocalDateTime;
 
 /**
@@ -103,6 +105,18 @@ public interface AuditLogService {
      */
     Page<AuditLog> getAuditLogsByResponseStatus(Integer status, Pageable pageable);
 
+    /**
+     * Retrieves audit logs after a cursor, newest first, without a count query.
+     *
+     * @param after The createdAt and ID of the last audit log of the previous slice
+     * @param size The slice size
+     * @param username The username to filter by, or null
+     * @param clientId The client ID to filter by, or null
+     * @param action The action to filter by, or null
+     * @return A slice of audit logs after the cursor
+     */
+    Slice<AuditLog> getAuditLogsAfter(KeysetCursor after, int size, String username, Long clientId, String action);
+
     /**
      * Deletes audit logs older than the specified date.
      *
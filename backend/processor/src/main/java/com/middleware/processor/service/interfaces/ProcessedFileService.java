@@ -1,9 +1,14 @@
 package com.middleware.processor.service.interfaces;
     
+import com.middleware.processor.dto.KeysetCursor;
+import com.middleware.processor.dto.ProcessedFileSummary;
 import com.middleware.processor.model.ProcessedFile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import java.io.IOException;
+import java.io.Writer;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -127,6 +132,52 @@ public interface ProcessedFileService {
                                         LocalDateTime startDate, LocalDateTime endDate,
                                         Long clientId, Long interfaceId);
 
+    /**
+     * Get processed files without their content. Every filter is optional and they all apply.
+     *
+     * @param clientId The client ID to filter by, or null
+     * @param interfaceId The interface ID to filter by, or null
+     * @param status The status to filter by, or null
+     * @param fileName Part of the file name to search for (case insensitive), or null
+     * @param startDate The earliest processing date, or null
+     * @param endDate The latest processing date, or null
+     * @param pageable The pagination information
+     * @return Page of processed file summaries
+     */
+    Page<ProcessedFileSummary> getProcessedFileSummaries(Long clientId, Long interfaceId, String status, String fileName,
+                                                         LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
+
+    /**
+     * Get a processed file without its content.
+     *
+     * @param id The ID of the processed file
+     * @return Optional containing the summary if found
+     */
+    Optional<ProcessedFileSummary> getProcessedFileSummary(Long id);
+
+    /**
+     * Write the content of a processed file, streaming it from the database without loading the entity.
+     *
+     * @param id The ID of the processed file
+     * @param writer The writer to copy the content to; it is not closed
+     * @return false if the file has no content or doesn't exist
+     * @throws IOException if the content cannot be written
+     */
+    boolean writeContent(Long id, Writer writer) throws IOException;
+
+    /**
+     * Get processed files after a cursor, newest processed first, without a count query.
+     *
+     * @param after The processedAt and ID of the last file of the previous slice
+     * @param size The slice size
+     * @param clientId The client ID to filter by, or null
+     * @param interfaceId The interface ID to filter by, or null
+     * @param status The status to filter by, or null
+     * @return Slice of processed files after the cursor
+     */
+    Slice<ProcessedFileSummary> getProcessedFilesAfter(KeysetCursor after, int size,
+                                                Long clientId, Long interfaceId, String status);
+
     /**
      * Get processed files by client with pagination and sorting.
      *
@@ -5,6 +5,7 @@ import com.middleware.processor.model.ProcessedFile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
+import java.io.IOException;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
@@ -39,6 +40,19 @@ public interface XmlProcessorService {
      */
     CompletableFuture<ProcessedFile> processXmlFileAsync(MultipartFile file, Long interfaceId);
 
+    /**
+     * Accept an XML file for asynchronous processing.
+     * The upload is spooled and processed on the xmlProcessorExecutor; the returned record has
+     * status PROCESSING and can be polled by its ID until it turns SUCCESS or ERROR.
+     *
+     * @param file The XML file to process
+     * @param interfaceId The ID of the interface
+     * @return The processed file record tracking the upload
+     * @throws IOException if the upload cannot be spooled
+     * @throws java.util.concurrent.RejectedExecutionException if the processing queue is full
+     */
+    ProcessedFile submitXmlFile(MultipartFile file, Long interfaceId) throws IOException;
+
     /**
      * Reprocess a file.
      *
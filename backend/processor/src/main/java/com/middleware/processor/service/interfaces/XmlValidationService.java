@@ -2,24 +2,71 @@ package com.middleware.processor.service.interfaces;
 
 import org.w3c.dom.Document;
 import com.middleware.processor.model.Interface;
+import com.middleware.processor.validation.ValidatedDocument;
+import com.middleware.processor.validation.XmlValidationResult;
+
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * Service interface for XML validation operations.
+ * Implementations are stateless; every call returns its own result and may run concurrently.
  */
 public interface XmlValidationService {
+    /**
+     * Validates an XML document against an XSD schema.
+     *
+     * @param document The XML document to validate
+     * @param xsdContent The XSD document
+     * @return The validation result with all errors found
+     */
+    XmlValidationResult validateAgainstXsd(Document document, String xsdContent);
+
+    /**
+     * Validates the structure of an XML document.
+     *
+     * @param document The XML document to validate
+     * @return The validation result
+     */
+    XmlValidationResult validateStructure(Document document);
+
+    /**
+     * Validates the content of an XML document against the interface's XSD schema.
+     *
+     * @param document The XML document to validate
+     * @param interfaceEntity The interface containing the schema path
+     * @return The validation result with all errors found
+     */
+    XmlValidationResult validate(Document document, Interface interfaceEntity);
+
+    /**
+     * Parses an XML document and validates it against the interface's XSD schema in one pass.
+     * Validation runs on the parser's event stream while the DOM is built, so the input is read once.
+     *
+     * @param inputStream The XML input, read exactly once
+     * @param interfaceEntity The interface containing the schema path
+     * @return The parsed document (null if it could not be parsed) and the validation result
+     * @throws IOException if the input cannot be read
+     */
+    ValidatedDocument parseAndValidate(InputStream inputStream, Interface interfaceEntity) throws IOException;
+
     /**
      * Validates an XML document against an XSD schema.
      */
-    boolean validateXmlAgainstXsd(Document document, String xsdContent);
+    default boolean validateXmlAgainstXsd(Document document, String xsdContent) {
+        return validateAgainstXsd(document, xsdContent).isValid();
+    }
 
     /**
      * Validates the structure of an XML document.
      */
-    boolean validateXmlStructure(Document document);
+    default boolean validateXmlStructure(Document document) {
+        return validateStructure(document).isValid();
+    }
 
     /**
      * Validates the content of an XML document against business rules.
-     * @deprecated Use {@link #validateXmlContent(Document, Interface)} instead
+     * @deprecated Use {@link #validate(Document, Interface)} instead
      */
     @Deprecated
     boolean validateXmlContent(Document document, String interfaceType);
@@ -30,12 +77,9 @@ public interface XmlValidationService {
      * @param interfaceEntity The interface containing the schema path
      * @return true if validation succeeds, false otherwise
      */
-    boolean validateXmlContent(Document document, Interface interfaceEntity);
-
-    /**
-     * Gets the validation error message from the last validation operation.
-     */
-    String getValidationErrorMessage();
+    default boolean validateXmlContent(Document document, Interface interfaceEntity) {
+        return validate(document, interfaceEntity).isValid();
+    }
 
     /**
      * Validates XML content provided as a string.
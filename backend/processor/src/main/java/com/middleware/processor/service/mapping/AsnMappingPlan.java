@@ -0,0 +1,252 @@
+package com.middleware.processor.service.mapping;
+
+import com.middleware.processor.model.AsnHeader;
+import com.middleware.processor.model.AsnLine;
+import com.middleware.processor.model.MappingRule;
+import com.middleware.processor.service.strategy.AsnStreamingReader;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.namespace.QName;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Compiled form of the active ASN header and line mapping rules of one client and interface.
+ * Holds the parent/relative path grouping of line rules, the resolved transformations and
+ * field binders and, when every path is a plain child path, a shared streaming reader.
+ *
+ * XPathExpression objects are not thread-safe, so they are compiled once per plan and thread.
+ */
+public class AsnMappingPlan {
+
+    private final long version;
+    private final List<CompiledRule> headerRules;
+    private final List<LineGroup> lineGroups;
+    private final AsnStreamingReader<CompiledRule> streamingReader;
+    private final ThreadLocal<CompiledExpressions> expressions = ThreadLocal.withInitial(this::compileExpressions);
+
+    public AsnMappingPlan(long version, List<MappingRule> headerRules, List<MappingRule> lineRules) {
+        this.version = version;
+        this.headerRules = headerRules.stream()
+            .map(rule -> new CompiledRule(rule, rule.getXmlPath(), AsnHeader.class))
+            .collect(Collectors.toUnmodifiableList());
+
+        // Group line rules by their parent paths to handle multiple line types
+        Map<String, List<CompiledRule>> rulesByParent = new LinkedHashMap<>();
+        for (MappingRule rule : lineRules) {
+            rulesByParent.computeIfAbsent(getParentPath(rule.getXmlPath()), k -> new ArrayList<>())
+                .add(new CompiledRule(rule, getRelativePath(rule.getXmlPath()), AsnLine.class));
+        }
+        List<LineGroup> groups = new ArrayList<>();
+        rulesByParent.forEach((parentPath, rules) ->
+            groups.add(new LineGroup(groups.size(), parentPath, Collections.unmodifiableList(rules))));
+        this.lineGroups = Collections.unmodifiableList(groups);
+
+        List<String> headerPaths = this.headerRules.stream()
+            .map(rule -> rule.getRule().getXmlPath())
+            .collect(Collectors.toList());
+        List<String> linePaths = lineRules.stream()
+            .map(MappingRule::getXmlPath)
+            .collect(Collectors.toList());
+        this.streamingReader = AsnStreamingReader.supports(headerPaths, linePaths)
+            ? new AsnStreamingReader<>(this.headerRules, getLineRules(), rule -> rule.getRule().getXmlPath())
+            : null;
+    }
+
+    /**
+     * @return The rule-set version this plan was compiled from
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public List<CompiledRule> getHeaderRules() {
+        return headerRules;
+    }
+
+    public List<LineGroup> getLineGroups() {
+        return lineGroups;
+    }
+
+    /**
+     * @return The streaming reader for this rule set, or null if a rule needs full XPath evaluation
+     */
+    public AsnStreamingReader<CompiledRule> getStreamingReader() {
+        return streamingReader;
+    }
+
+    public boolean isStreamable() {
+        return streamingReader != null;
+    }
+
+    /**
+     * Evaluate a header rule against the document and return the first matching node.
+     */
+    public Node evaluateHeader(int ruleIndex, Node document) throws XPathExpressionException {
+        return (Node) expressions.get().header[ruleIndex].evaluate(document, XPathConstants.NODE);
+    }
+
+    /**
+     * Evaluate the parent path of a line group and return the line nodes.
+     */
+    public NodeList evaluateLineNodes(LineGroup group, Node document) throws XPathExpressionException {
+        return (NodeList) expressions.get().parents[group.getIndex()].evaluate(document, XPathConstants.NODESET);
+    }
+
+    /**
+     * Evaluate a line rule relative to a line node and return the first matching node.
+     */
+    public Node evaluateLine(LineGroup group, int ruleIndex, Node lineNode) throws XPathExpressionException {
+        return (Node) expressions.get().lines[group.getIndex()][ruleIndex].evaluate(lineNode, XPathConstants.NODE);
+    }
+
+    private List<CompiledRule> getLineRules() {
+        return lineGroups.stream()
+            .flatMap(group -> group.getRules().stream())
+            .collect(Collectors.toList());
+    }
+
+    private CompiledExpressions compileExpressions() {
+        XPath xPath = XPathFactory.newInstance().newXPath();
+        CompiledExpressions compiled = new CompiledExpressions();
+        compiled.header = new CompiledXPath[headerRules.size()];
+        for (int i = 0; i < headerRules.size(); i++) {
+            compiled.header[i] = CompiledXPath.compile(xPath, headerRules.get(i).getXpath());
+        }
+        compiled.parents = new CompiledXPath[lineGroups.size()];
+        compiled.lines = new CompiledXPath[lineGroups.size()][];
+        for (LineGroup group : lineGroups) {
+            compiled.parents[group.getIndex()] = CompiledXPath.compile(xPath, group.getParentPath());
+            CompiledXPath[] lineExpressions = new CompiledXPath[group.getRules().size()];
+            for (int i = 0; i < lineExpressions.length; i++) {
+                lineExpressions[i] = CompiledXPath.compile(xPath, group.getRules().get(i).getXpath());
+            }
+            compiled.lines[group.getIndex()] = lineExpressions;
+        }
+        return compiled;
+    }
+
+    private static String getParentPath(String xpath) {
+        int lastSlash = xpath.lastIndexOf('/');
+        return lastSlash > 0 ? xpath.substring(0, lastSlash) : xpath;
+    }
+
+    private static String getRelativePath(String fullPath) {
+        String[] parts = fullPath.split("/");
+        return parts[parts.length - 1];
+    }
+
+    /**
+     * A mapping rule together with everything that can be resolved before a document is read.
+     */
+    public static class CompiledRule {
+        private final MappingRule rule;
+        private final String xpath;
+        private final AsnTransformation transformation;
+        private final FieldBinder binder;
+
+        private CompiledRule(MappingRule rule, String xpath, Class<?> entityClass) {
+            this.rule = rule;
+            this.xpath = xpath;
+            this.transformation = AsnTransformation.resolve(rule.getTransformationRule());
+            this.binder = FieldBinderRegistry.binderFor(entityClass, rule.getDatabaseField(), rule.getDataType());
+        }
+
+        /**
+         * Transform a value from the document and set it on the header or line entity.
+         */
+        public void apply(Object entity, String value) {
+            binder.bind(entity, transformation.apply(value));
+        }
+
+        public MappingRule getRule() {
+            return rule;
+        }
+
+        /**
+         * @return The absolute path for header rules, the path relative to the line node for line rules
+         */
+        public String getXpath() {
+            return xpath;
+        }
+
+        public AsnTransformation getTransformation() {
+            return transformation;
+        }
+
+        public FieldBinder getBinder() {
+            return binder;
+        }
+    }
+
+    /**
+     * Line rules sharing the same parent path; each node matching the parent path is one line.
+     */
+    public static class LineGroup {
+        private final int index;
+        private final String parentPath;
+        private final List<CompiledRule> rules;
+
+        private LineGroup(int index, String parentPath, List<CompiledRule> rules) {
+            this.index = index;
+            this.parentPath = parentPath;
+            this.rules = rules;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String getParentPath() {
+            return parentPath;
+        }
+
+        public List<CompiledRule> getRules() {
+            return rules;
+        }
+    }
+
+    private static class CompiledExpressions {
+        private CompiledXPath[] header;
+        private CompiledXPath[] parents;
+        private CompiledXPath[][] lines;
+    }
+
+    /**
+     * A compiled expression, or the compilation error to report each time the rule is applied.
+     */
+    private static class CompiledXPath {
+        private final XPathExpression expression;
+        private final XPathExpressionException error;
+
+        private CompiledXPath(XPathExpression expression, XPathExpressionException error) {
+            this.expression = expression;
+            this.error = error;
+        }
+
+        private static CompiledXPath compile(XPath xPath, String path) {
+            try {
+                return new CompiledXPath(xPath.compile(path), null);
+            } catch (XPathExpressionException e) {
+                return new CompiledXPath(null, e);
+            }
+        }
+
+        private Object evaluate(Node context, QName returnType) throws XPathExpressionException {
+            if (error != null) {
+                throw error;
+            }
+            return expression.evaluate(context, returnType);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.middleware.processor.service.mapping;
+
+import com.middleware.processor.model.Interface;
+import com.middleware.processor.model.MappingRule;
+import com.middleware.processor.service.cache.CacheInvalidationMessage;
+import com.middleware.processor.service.cache.CacheInvalidationPublisher;
+import com.middleware.processor.service.interfaces.MappingRuleService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Cache of compiled ASN mapping plans keyed by client and interface.
+ * Plans are rebuilt lazily after a {@link MappingRulesChangedEvent}, so rule setup is paid
+ * once per rule-set version instead of once per file and line.
+ */
+@Component
+public class AsnMappingPlanCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsnMappingPlanCache.class);
+
+    static final String HEADER_TABLE = "ASN_HEADERS";
+    static final String LINE_TABLE = "ASN_LINES";
+
+    private final Map<PlanKey, AsnMappingPlan> plans = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    @Autowired
+    private MappingRuleService mappingRuleService;
+
+    @Autowired
+    private CacheInvalidationPublisher invalidationPublisher;
+
+    /**
+     * Get the compiled plan for an interface, compiling it from the current rules if needed.
+     *
+     * @param interfaceEntity The interface a file is processed for
+     * @return The compiled mapping plan
+     */
+    public AsnMappingPlan getPlan(Interface interfaceEntity) {
+        Long clientId = interfaceEntity.getClient().getId();
+        PlanKey key = new PlanKey(clientId, interfaceEntity.getId());
+        AsnMappingPlan plan = plans.get(key);
+        if (plan != null) {
+            return plan;
+        }
+
+        long buildVersion = version.get();
+        plan = compile(clientId, buildVersion);
+        // Only cache the plan if no rule change happened while it was being compiled; checked under
+        // the lock invalidate() holds, so a change can't slip in between the check and the put
+        synchronized (plans) {
+            if (version.get() == buildVersion) {
+                plans.put(key, plan);
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Drop cached plans of a client, or of every client if the ID is null.
+     */
+    public void invalidate(Long clientId) {
+        synchronized (plans) {
+            version.incrementAndGet();
+            if (clientId == null) {
+                plans.clear();
+            } else {
+                plans.keySet().removeIf(key -> clientId.equals(key.clientId));
+            }
+        }
+        logger.debug("Invalidated ASN mapping plans for client {}", clientId != null ? clientId : "*");
+    }
+
+    /**
+     * Drop the plans affected by a rule change here and on the other replicas.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMappingRulesChanged(MappingRulesChangedEvent event) {
+        invalidate(event.getClientId());
+        invalidationPublisher.publish(CacheInvalidationMessage.mappingPlans(event.getClientId()));
+    }
+
+    private AsnMappingPlan compile(Long clientId, long buildVersion) {
+        List<MappingRule> headerRules = activeRules(mappingRuleService.findByTableNameAndClient_Id(HEADER_TABLE, clientId, PageRequest.of(0, 100)).getContent());
+        List<MappingRule> lineRules = activeRules(mappingRuleService.findByTableNameAndClient_Id(LINE_TABLE, clientId, PageRequest.of(0, 100)).getContent());
+        AsnMappingPlan plan = new AsnMappingPlan(buildVersion, headerRules, lineRules);
+        logger.debug("Compiled ASN mapping plan v{} for client {}: {} header rule(s), {} line group(s), streamable={}",
+            buildVersion, clientId, headerRules.size(), plan.getLineGroups().size(), plan.isStreamable());
+        return plan;
+    }
+
+    private List<MappingRule> activeRules(List<MappingRule> rules) {
+        return rules.stream()
+            .filter(rule -> Boolean.TRUE.equals(rule.getIsActive()))
+            .collect(Collectors.toList());
+    }
+
+    private static final class PlanKey {
+        private final Long clientId;
+        private final Long interfaceId;
+
+        private PlanKey(Long clientId, Long interfaceId) {
+            this.clientId = clientId;
+            this.interfaceId = interfaceId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PlanKey)) {
+                return false;
+            }
+            PlanKey other = (PlanKey) o;
+            return Objects.equals(clientId, other.clientId) && Objects.equals(interfaceId, other.interfaceId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(clientId, interfaceId);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.middleware.processor.service.mapping;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+
+/**
+ * Transformation rules that can be attached to ASN mapping rules through
+ * {@code MappingRule.transformationRule}. Rules are resolved once when a mapping plan is compiled.
+ */
+public enum AsnTransformation {
+
+    NONE {
+        @Override
+        protected String transform(String value) {
+            return value;
+        }
+    },
+
+    REMOVE_LEADING_ZEROS {
+        @Override
+        protected String transform(String value) {
+            // Remove leading zeros and convert to integer
+            return String.valueOf(Long.parseLong(value.trim()));
+        }
+    },
+
+    FORMAT_DATE {
+        @Override
+        protected String transform(String value) throws ParseException {
+            // Format date to standard format
+            return DATE_FORMAT.get().format(DATE_FORMAT.get().parse(value));
+        }
+    },
+
+    FORMAT_TIME {
+        @Override
+        protected String transform(String value) throws ParseException {
+            // Format time to standard format
+            return TIME_FORMAT.get().format(TIME_FORMAT.get().parse(value));
+        }
+    },
+
+    FORMAT_DECIMAL {
+        @Override
+        protected String transform(String value) {
+            // Format decimal with precision
+            return String.format("%.3f", Double.parseDouble(value));
+        }
+    },
+
+    MAP_STATUS {
+        @Override
+        protected String transform(String value) {
+            // Map status codes to values
+            switch (value.trim()) {
+                case "01": return "NEW";
+                case "02": return "PROCESSING";
+                case "03": return "COMPLETED";
+                case "04": return "ERROR";
+                default: return value;
+            }
+        }
+    };
+
+    private static final Logger logger = LoggerFactory.getLogger(AsnTransformation.class);
+
+    // SimpleDateFormat is not thread-safe, so each processing thread gets its own instance
+    private static final ThreadLocal<SimpleDateFormat> DATE_FORMAT = ThreadLocal.withInitial(() -> new SimpleDateFormat("yyyy-MM-dd"));
+    private static final ThreadLocal<SimpleDateFormat> TIME_FORMAT = ThreadLocal.withInitial(() -> new SimpleDateFormat("HH:mm:ss"));
+
+    protected abstract String transform(String value) throws Exception;
+
+    /**
+     * Apply the transformation, returning the original value if it cannot be transformed.
+     */
+    public String apply(String value) {
+        if (this == NONE || value == null || value.trim().isEmpty()) {
+            return value;
+        }
+        try {
+            return transform(value);
+        } catch (ParseException e) {
+            logger.error("Error parsing date/time value: {}", value, e);
+            return value;
+        } catch (NumberFormatException e) {
+            logger.error("Error parsing number value: {}", value, e);
+            return value;
+        } catch (Exception e) {
+            logger.error("Error applying transformation rule {} to value {}: {}", name(), value, e.getMessage());
+            return value;
+        }
+    }
+
+    /**
+     * Resolve a transformation rule name as stored on a mapping rule.
+     *
+     * @param transformationRule The rule name, may be null or empty
+     * @return The matching transformation, or NONE for empty and unknown names
+     */
+    public static AsnTransformation resolve(String transformationRule) {
+        if (transformationRule == null || transformationRule.isEmpty()) {
+            return NONE;
+        }
+        switch (transformationRule.toLowerCase()) {
+            case "parse_integer":
+            case "remove_leading_zeros":
+                return REMOVE_LEADING_ZEROS;
+            case "format_date":
+                return FORMAT_DATE;
+            case "format_time":
+                return FORMAT_TIME;
+            case "format_decimal":
+                return FORMAT_DECIMAL;
+            case "map_status":
+                return MAP_STATUS;
+            default:
+                logger.warn("Unknown transformation rule: {}", transformationRule);
+                return NONE;
+        }
+    }
+}
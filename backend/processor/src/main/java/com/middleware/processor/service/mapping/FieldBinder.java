@@ -0,0 +1,17 @@
+package com.middleware.processor.service.mapping;
+
+/**
+ * Converts a mapped XML value and writes it to one field of an entity.
+ * Binders are resolved once per mapping rule by {@link FieldBinderRegistry}.
+ */
+@FunctionalInterface
+public interface FieldBinder {
+
+    /**
+     * Convert the value and set it on the entity.
+     *
+     * @param entity The entity to update
+     * @param value The (already transformed) text value from the document
+     */
+    void bind(Object entity, String value);
+}
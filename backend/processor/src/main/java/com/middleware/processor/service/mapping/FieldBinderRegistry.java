@@ -0,0 +1,200 @@
+package com.middleware.processor.service.mapping;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves mapping rule database fields to setter binders for ASN entities.
+ * Setter lookup and value conversion are decided once, when a mapping plan is compiled;
+ * binding a value is then a converter call plus a direct setter call without reflection.
+ */
+public final class FieldBinderRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(FieldBinderRegistry.class);
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    // Setters per entity class, indexed by setter name
+    private static final Map<Class<?>, Map<String, List<Method>>> SETTERS = new ConcurrentHashMap<>();
+
+    // Binders per entity class, database field and data type
+    private static final Map<String, FieldBinder> BINDERS = new ConcurrentHashMap<>();
+
+    private FieldBinderRegistry() {
+    }
+
+    /**
+     * Get the binder writing a database field of an entity class.
+     *
+     * @param entityClass The entity class, e.g. AsnHeader or AsnLine
+     * @param databaseField The snake_case database field of the mapping rule
+     * @param dataType The data type of the mapping rule, defaults to string
+     * @return The binder; if no suitable setter exists, a binder that fails on use
+     */
+    public static FieldBinder binderFor(Class<?> entityClass, String databaseField, String dataType) {
+        String type = dataType != null ? dataType.toLowerCase() : "string";
+        return BINDERS.computeIfAbsent(entityClass.getName() + '#' + databaseField + '#' + type,
+            key -> createBinder(entityClass, databaseField, type));
+    }
+
+    private static FieldBinder createBinder(Class<?> entityClass, String fieldName, String dataType) {
+        String camelCaseField = toCamelCase(fieldName);
+        String setterName = "set" + camelCaseField.substring(0, 1).toUpperCase() + camelCaseField.substring(1);
+
+        logger.debug("Binding field name '{}' of {} to setter method '{}' (camelCase field: {})",
+            fieldName, entityClass.getSimpleName(), setterName, camelCaseField);
+
+        List<Method> candidates = SETTERS.computeIfAbsent(entityClass, FieldBinderRegistry::indexSetters)
+            .getOrDefault(setterName, Collections.emptyList());
+
+        for (Class<?> parameterType : parameterTypesFor(dataType)) {
+            for (Method setter : candidates) {
+                if (setter.getParameterTypes()[0] == parameterType) {
+                    Function<String, Object> converter = converterFor(dataType, parameterType);
+                    BiConsumer<Object, Object> invoker = createInvoker(setter);
+                    return (entity, value) -> invoker.accept(entity, converter.apply(value));
+                }
+            }
+        }
+
+        String message = "Failed to set field " + fieldName + ": no setter " + setterName
+            + " for data type " + dataType + " on " + entityClass.getSimpleName();
+        logger.warn(message);
+        return (entity, value) -> {
+            throw new RuntimeException(message);
+        };
+    }
+
+    /**
+     * Setter parameter types accepted for a data type, in order of preference.
+     */
+    private static List<Class<?>> parameterTypesFor(String dataType) {
+        switch (dataType) {
+            case "number":
+            case "integer":
+                return Arrays.asList(Integer.class, int.class, Long.class, long.class, BigDecimal.class);
+            case "decimal":
+            case "double":
+                return Arrays.asList(Double.class, double.class, BigDecimal.class);
+            case "boolean":
+                return Arrays.asList(Boolean.class, boolean.class);
+            case "date":
+            default: // string
+                return Collections.singletonList(String.class);
+        }
+    }
+
+    private static Function<String, Object> converterFor(String dataType, Class<?> parameterType) {
+        switch (dataType) {
+            case "number":
+            case "integer":
+                // Handle European number format for integers
+                if (parameterType == Long.class || parameterType == long.class) {
+                    return value -> Math.round(Double.parseDouble(cleanNumber(value)));
+                }
+                if (parameterType == BigDecimal.class) {
+                    return value -> BigDecimal.valueOf(Math.round(Double.parseDouble(cleanNumber(value))));
+                }
+                return value -> (int) Math.round(Double.parseDouble(cleanNumber(value)));
+            case "decimal":
+            case "double":
+                // Handle European number format for decimals
+                if (parameterType == BigDecimal.class) {
+                    return value -> new BigDecimal(cleanNumber(value));
+                }
+                return value -> Double.valueOf(cleanNumber(value));
+            case "boolean":
+                return Boolean::valueOf;
+            case "date":
+            default:
+                return value -> value; // Dates are handled by transformation
+        }
+    }
+
+    private static String cleanNumber(String value) {
+        return value.replace(".", "").replace(",", ".");
+    }
+
+    /**
+     * Create a setter call site; uses a LambdaMetafactory lambda where possible
+     * and falls back to a plain method handle otherwise.
+     */
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> createInvoker(Method setter) {
+        try {
+            MethodHandle handle = LOOKUP.unreflect(setter);
+            try {
+                Class<?> parameterType = setter.getParameterTypes()[0];
+                Class<?> boxedType = MethodType.methodType(parameterType).wrap().returnType();
+                CallSite site = LambdaMetafactory.metafactory(
+                    LOOKUP,
+                    "accept",
+                    MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class),
+                    handle,
+                    MethodType.methodType(void.class, setter.getDeclaringClass(), boxedType));
+                return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+            } catch (Throwable e) {
+                logger.debug("Falling back to method handle for setter {}: {}", setter.getName(), e.getMessage());
+                MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+                return (entity, value) -> {
+                    try {
+                        generic.invokeExact(entity, value);
+                    } catch (RuntimeException | Error ex) {
+                        throw ex;
+                    } catch (Throwable ex) {
+                        throw new RuntimeException(ex);
+                    }
+                };
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Setter " + setter.getName() + " is not accessible", e);
+        }
+    }
+
+    private static Map<String, List<Method>> indexSetters(Class<?> entityClass) {
+        Map<String, List<Method>> setters = new HashMap<>();
+        Arrays.stream(entityClass.getMethods())
+            .filter(method -> method.getName().startsWith("set")
+                && method.getParameterCount() == 1
+                && !Modifier.isStatic(method.getModifiers()))
+            .collect(Collectors.groupingBy(Method::getName))
+            .forEach(setters::put);
+        return setters;
+    }
+
+    private static String toCamelCase(String fieldName) {
+        String[] words = fieldName.split("_");
+        StringBuilder result = new StringBuilder();
+        for (String word : words) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            // Words equal to the first word stay lower case, as in the original setter lookup
+            if (word.equals(words[0])) {
+                result.append(word.toLowerCase());
+            } else {
+                result.append(word.substring(0, 1).toUpperCase()).append(word.substring(1).toLowerCase());
+            }
+        }
+        return result.toString();
+    }
+}
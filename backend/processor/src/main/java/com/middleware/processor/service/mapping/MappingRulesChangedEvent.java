@@ -0,0 +1,18 @@
+package com.middleware.processor.service.mapping;
+
+/**
+ * Published whenever mapping rules are created, updated or deleted.
+ * A null client ID means the affected client is unknown and every plan has to be rebuilt.
+ */
+public class MappingRulesChangedEvent {
+
+    private final Long clientId;
+
+    public MappingRulesChangedEvent(Long clientId) {
+        this.clientId = clientId;
+    }
+
+    public Long getClientId() {
+        return clientId;
+    }
+}
@@ -1,8 +1,12 @@
 package com.middleware.processor.service.strategy;
 
+import com.middleware.processor.config.AsnProcessingConfig;
 import com.middleware.processor.model.*;
 import com.middleware.processor.service.interfaces.AsnService;
-import com.middleware.processor.service.interfaces.MappingRuleService;
+import com.middleware.processor.service.mapping.AsnMappingPlan;
+import com.middleware.processor.service.mapping.AsnMappingPlan.CompiledRule;
+import com.middleware.processor.service.mapping.AsnMappingPlan.LineGroup;
+import com.middleware.processor.service.mapping.AsnMappingPlanCache;
 import org.springframework.web.multipart.MultipartFile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,12 +15,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
 
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathFactory;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
@@ -24,17 +24,18 @@ import java.util.ArrayList;
 import java.util.List;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
-import java.lang.reflect.Method;
-import java.util.Arrays;
-import java.util.stream.Collectors;
-import java.util.Map;
 import com.middleware.processor.service.interfaces.ProcessedFileService;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.math.BigDecimal;
 import java.util.Date;
 import java.util.HashSet;
@@ -56,11 +57,14 @@ public class AsnDocumentProcessingStrategy extends AbstractDocumentProcessingStr
     @Autowired
     private AsnService asnService;
     
-    @Autowired
-    private MappingRuleService mappingRuleService;
-    
     @Autowired
     private ProcessedFileService processedFileService;
+
+    @Autowired
+    private AsnProcessingConfig asnProcessingConfig;
+
+    @Autowired
+    private AsnMappingPlanCache mappingPlanCache;
     
     @Override
     public String getDocumentType() {
@@ -96,123 +100,22 @@ public class AsnDocumentProcessingStrategy extends AbstractDocumentProcessingStr
             });
             
             StringBuilder errorMessages = new StringBuilder();
-            boolean hasFieldMappingErrors = false;
             
             try {
-                Document document = parseXmlFile(file);
-                
-                // Store normalized XML content
-                String normalizedContent = normalizeXmlContent(document);
-                processedFile.setContent(normalizedContent);
-                
-                XPath xPath = XPathFactory.newInstance().newXPath();
-                
-                // Get active mapping rules
-                List<MappingRule> headerRules = mappingRuleService.findByTableNameAndClient_Id("ASN_HEADERS", interfaceEntity.getClient().getId(), PageRequest.of(0, 100)).getContent();
-                List<MappingRule> lineRules = mappingRuleService.findByTableNameAndClient_Id("ASN_LINES", interfaceEntity.getClient().getId(), PageRequest.of(0, 100)).getContent();
-                
-                // Create header
-                AsnHeader header = new AsnHeader();
-                header.setClient(interfaceEntity.getClient());
-                header.setHasImportError(false);
-                header.setHasSoftCheckError(false);
-                header.setHasAlerts(false);
-                header.setIsCogiGenerated(false);
-                header.setIsCancelled(false);
-                header.setIsClosed(false);
-                header.setIsGift(false);
-                header.setIsWhseTransfer("0");
-                header.setAsnLevel(1); // Default level
-                header.setReceiptDttm(OUTPUT_DATE_FORMAT.format(new Date()));
-                header.setQualityAuditPercent(BigDecimal.ZERO);
-                header.setAsnPriority(0);
-                header.setScheduleAppt(0);
-                header.setCreatedSourceType(0);
-                header.setLastUpdatedSourceType(0);
-                
-                // Apply header mapping rules
-                for (MappingRule rule : headerRules) {
-                    if (rule.getIsActive()) {
-                        try {
-                            String value = getNodeValue(xPath, rule.getXmlPath(), document);
-                            if (value != null) {
-                                setFieldValue(header, rule, value);
-                            }
-                        } catch (Exception e) {
-                            logger.error("Error applying header mapping rule {}: {}", rule.getXmlPath(), e.getMessage());
-                            hasFieldMappingErrors = true;
-                            errorMessages.append("Header mapping error for ").append(rule.getXmlPath())
-                                .append(": ").append(e.getMessage()).append("; ");
-                        }
-                    }
-                }
+                // Get the compiled mapping plan for the active rules
+                AsnMappingPlan plan = mappingPlanCache.getPlan(interfaceEntity);
                 
-                AsnHeader savedHeader = asnService.createAsnHeader(header);
-                List<AsnLine> lines = new ArrayList<>();
-                
-                // Group line rules by their parent paths to handle multiple line types
-                Map<String, List<MappingRule>> lineRulesByParent = lineRules.stream()
-                    .filter(MappingRule::getIsActive)
-                    .collect(Collectors.groupingBy(rule -> getParentPath(rule.getXmlPath())));
-                
-                // Process each group of line rules
-                Set<Node> processedNodes = new HashSet<>();  // Track processed nodes
-                for (Map.Entry<String, List<MappingRule>> entry : lineRulesByParent.entrySet()) {
-                    String parentPath = entry.getKey();
-                    List<MappingRule> rulesForPath = entry.getValue();
-                    
-                    logger.debug("Processing line rules for parent path: {}", parentPath);
-                    NodeList lineNodes = (NodeList) xPath.evaluate(parentPath, document, XPathConstants.NODESET);
-                    logger.debug("Found {} line nodes to process", lineNodes.getLength());
-                    
-                    for (int i = 0; i < lineNodes.getLength(); i++) {
-                        Node lineContext = lineNodes.item(i);
-                        
-                        // Skip if we've already processed this node
-                        if (processedNodes.contains(lineContext)) {
-                            logger.debug("Skipping already processed node {}", i + 1);
-                            continue;
-                        }
-                        processedNodes.add(lineContext);
-                        
-                        AsnLine line = new AsnLine();
-                        line.setHeader(savedHeader);
-                        line.setClient(interfaceEntity.getClient());
-                        line.setStatus("NEW");
-                        boolean hasLineError = false;
-                        
-                        logger.debug("Processing line node {}", i + 1);
-                        for (MappingRule rule : rulesForPath) {
-                            try {
-                                String relativePath = getRelativePath(rule.getXmlPath());
-                                String value = getNodeValue(xPath, relativePath, lineContext);
-                                
-                                if (value != null) {
-                                    setFieldValue(line, rule, value);
-                                }
-                            } catch (Exception e) {
-                                logger.error("Error applying line mapping rule {} for field {}: {}", 
-                                    rule.getXmlPath(), rule.getDatabaseField(), e.getMessage());
-                                hasFieldMappingErrors = true;
-                                hasLineError = true;
-                                errorMessages.append("Line ").append(i + 1).append(" mapping error for ")
-                                    .append(rule.getXmlPath()).append(": ").append(e.getMessage()).append("; ");
-                                break;
-                            }
-                        }
-                        if (!hasLineError) {
-                            lines.add(line);
-                        }
-                    }
-                }
+                AsnHeader header = createDefaultHeader(interfaceEntity);
                 
-                // Save all lines
-                if (!lines.isEmpty()) {
-                    asnService.createAsnLines(lines);
+                if (useStreaming(file, plan)) {
+                    logger.debug("Processing ASN file {} ({} bytes) in streaming mode", file.getOriginalFilename(), file.getSize());
+                    processStreaming(file, interfaceEntity, processedFile, header, plan, errorMessages);
+                } else {
+                    processDom(file, interfaceEntity, processedFile, header, plan, errorMessages);
                 }
 
                 // Set final status based on mapping errors
-                if (hasFieldMappingErrors) {
+                if (errorMessages.length() > 0) {
                     processedFile.setStatus("ERROR");
                     String errorMessage = errorMessages.toString();
                     if (errorMessage.length() > 1000) {
@@ -248,24 +151,301 @@ public class AsnDocumentProcessingStrategy extends AbstractDocumentProcessingStr
         }
     }
     
-    private String getNodeValue(XPath xPath, String xpath, Node contextNode) throws Exception {
-        Node node = (Node) xPath.evaluate(xpath, contextNode, XPathConstants.NODE);
-        return node != null ? node.getTextContent() : null;
+    private AsnHeader createDefaultHeader(Interface interfaceEntity) {
+        AsnHeader header = new AsnHeader();
+        header.setClient(interfaceEntity.getClient());
+        header.setHasImportError(false);
+        header.setHasSoftCheckError(false);
+        header.setHasAlerts(false);
+        header.setIsCogiGenerated(false);
+        header.setIsCancelled(false);
+        header.setIsClosed(false);
+        header.setIsGift(false);
+        header.setIsWhseTransfer("0");
+        header.setAsnLevel(1); // Default level
+        header.setReceiptDttm(OUTPUT_DATE_FORMAT.format(new Date()));
+        header.setQualityAuditPercent(BigDecimal.ZERO);
+        header.setAsnPriority(0);
+        header.setScheduleAppt(0);
+        header.setCreatedSourceType(0);
+        header.setLastUpdatedSourceType(0);
+        return header;
     }
 
-    private String getNodeValue(XPath xPath, String xpath, Document document) throws Exception {
-        Node node = (Node) xPath.evaluate(xpath, document, XPathConstants.NODE);
-        return node != null ? node.getTextContent() : null;
+    private boolean useStreaming(MultipartFile file, AsnMappingPlan plan) {
+        String mode = asnProcessingConfig.getMode() != null ? asnProcessingConfig.getMode().toLowerCase() : "auto";
+        if ("dom".equals(mode)) {
+            return false;
+        }
+        if (!"streaming".equals(mode) && file.getSize() < asnProcessingConfig.getStreamingThreshold()) {
+            return false;
+        }
+        if (!plan.isStreamable()) {
+            logger.info("Mapping rules for file {} use XPath features the streaming reader cannot match, falling back to DOM processing",
+                file.getOriginalFilename());
+            return false;
+        }
+        return true;
     }
 
-    private String getParentPath(String xpath) {
-        int lastSlash = xpath.lastIndexOf('/');
-        return lastSlash > 0 ? xpath.substring(0, lastSlash) : xpath;
+    private void processDom(MultipartFile file, Interface interfaceEntity, ProcessedFile processedFile, AsnHeader header,
+                            AsnMappingPlan plan, StringBuilder errorMessages) throws Exception {
+        Document document = parseXmlFile(file);
+
+        // Store normalized XML content
+        String normalizedContent = normalizeXmlContent(document);
+        processedFile.setContent(normalizedContent);
+
+        // Apply header mapping rules
+        List<CompiledRule> headerRules = plan.getHeaderRules();
+        for (int r = 0; r < headerRules.size(); r++) {
+            CompiledRule rule = headerRules.get(r);
+            try {
+                String value = getTextContent(plan.evaluateHeader(r, document));
+                if (value != null) {
+                    rule.apply(header, value);
+                }
+            } catch (Exception e) {
+                appendHeaderError(errorMessages, rule, e);
+            }
+        }
+
+        AsnHeader savedHeader = asnService.createAsnHeader(header);
+        List<AsnLine> lines = new ArrayList<>();
+
+        // Process each group of line rules
+        Set<Node> processedNodes = new HashSet<>();  // Track processed nodes
+        for (LineGroup group : plan.getLineGroups()) {
+            List<CompiledRule> rulesForPath = group.getRules();
+
+            logger.debug("Processing line rules for parent path: {}", group.getParentPath());
+            NodeList lineNodes = plan.evaluateLineNodes(group, document);
+            logger.debug("Found {} line nodes to process", lineNodes.getLength());
+
+            for (int i = 0; i < lineNodes.getLength(); i++) {
+                Node lineContext = lineNodes.item(i);
+
+                // Skip if we've already processed this node
+                if (!processedNodes.add(lineContext)) {
+                    logger.debug("Skipping already processed node {}", i + 1);
+                    continue;
+                }
+
+                AsnLine line = createLine(savedHeader, interfaceEntity);
+                boolean hasLineError = false;
+
+                for (int r = 0; r < rulesForPath.size(); r++) {
+                    CompiledRule rule = rulesForPath.get(r);
+                    try {
+                        String value = getTextContent(plan.evaluateLine(group, r, lineContext));
+                        if (value != null) {
+                            rule.apply(line, value);
+                        }
+                    } catch (Exception e) {
+                        appendLineError(errorMessages, i + 1, rule, e);
+                        hasLineError = true;
+                        break;
+                    }
+                }
+                if (!hasLineError) {
+                    lines.add(line);
+                }
+            }
+        }
+
+        // Save all lines
+        if (!lines.isEmpty()) {
+            asnService.createAsnLines(lines, lines.size());
+        }
+    }
+
+    private void processStreaming(MultipartFile file, Interface interfaceEntity, ProcessedFile processedFile, AsnHeader header,
+                                  AsnMappingPlan plan, StringBuilder errorMessages) throws Exception {
+        long captureLimit = file.getSize() <= asnProcessingConfig.getContentCaptureLimit()
+            ? asnProcessingConfig.getContentCaptureLimit() : 0;
+
+        try (CapturingInputStream inputStream = new CapturingInputStream(file.getInputStream(), captureLimit)) {
+            StreamingHandler handler = new StreamingHandler(interfaceEntity, header, errorMessages, file.getSize(), inputStream);
+            plan.getStreamingReader().read(inputStream, handler);
+            handler.finish();
+
+            byte[] captured = inputStream.getCaptured();
+            if (captured != null) {
+                processedFile.setContent(normalizeXmlString(new String(captured, StandardCharsets.UTF_8)));
+            } else {
+                logger.debug("Content of ASN file {} exceeds the capture limit and is not stored", file.getOriginalFilename());
+            }
+        }
+    }
+
+    private AsnLine createLine(AsnHeader savedHeader, Interface interfaceEntity) {
+        AsnLine line = new AsnLine();
+        line.setHeader(savedHeader);
+        line.setClient(interfaceEntity.getClient());
+        line.setStatus("NEW");
+        return line;
     }
 
-    private String getRelativePath(String fullPath) {
-        String[] parts = fullPath.split("/");
-        return parts[parts.length - 1];
+    private void appendHeaderError(StringBuilder errorMessages, CompiledRule rule, Exception e) {
+        logger.error("Error applying header mapping rule {}: {}", rule.getRule().getXmlPath(), e.getMessage());
+        errorMessages.append("Header mapping error for ").append(rule.getRule().getXmlPath())
+            .append(": ").append(e.getMessage()).append("; ");
+    }
+
+    private void appendLineError(StringBuilder errorMessages, int lineNumber, CompiledRule rule, Exception e) {
+        logger.error("Error applying line mapping rule {} for field {}: {}",
+            rule.getRule().getXmlPath(), rule.getRule().getDatabaseField(), e.getMessage());
+        errorMessages.append("Line ").append(lineNumber).append(" mapping error for ")
+            .append(rule.getRule().getXmlPath()).append(": ").append(e.getMessage()).append("; ");
+    }
+
+    /**
+     * Receives header values and lines from the streaming reader.
+     * The header is saved right before the first line so lines can reference it; header values
+     * found after that point are applied to the managed entity and flushed with the transaction.
+     * Lines are handed to the ASN service in batches of {@code asn.processing.line-batch-size};
+     * the total line count used to pick the loader is estimated from the first batch.
+     */
+    private class StreamingHandler implements AsnStreamingReader.Handler<CompiledRule> {
+        private final Interface interfaceEntity;
+        private final StringBuilder errorMessages;
+        private final List<AsnLine> batch = new ArrayList<>();
+        private final long fileSize;
+        private final CapturingInputStream inputStream;
+        private AsnHeader header;
+        private boolean headerSaved;
+        private int lineCount;
+        private long expectedLineCount = -1;
+
+        private StreamingHandler(Interface interfaceEntity, AsnHeader header, StringBuilder errorMessages,
+                                 long fileSize, CapturingInputStream inputStream) {
+            this.interfaceEntity = interfaceEntity;
+            this.header = header;
+            this.errorMessages = errorMessages;
+            this.fileSize = fileSize;
+            this.inputStream = inputStream;
+        }
+
+        @Override
+        public void onHeaderValue(CompiledRule rule, String value) {
+            try {
+                rule.apply(header, value);
+            } catch (Exception e) {
+                appendHeaderError(errorMessages, rule, e);
+            }
+        }
+
+        @Override
+        public void beforeFirstLine() {
+            saveHeader();
+        }
+
+        @Override
+        public void onLine(String parentPath, int lineNumber, List<CompiledRule> rules, String[] values) {
+            AsnLine line = createLine(header, interfaceEntity);
+            for (int i = 0; i < rules.size(); i++) {
+                if (values[i] == null) {
+                    continue;
+                }
+                try {
+                    rules.get(i).apply(line, values[i]);
+                } catch (Exception e) {
+                    appendLineError(errorMessages, lineNumber, rules.get(i), e);
+                    return;
+                }
+            }
+            batch.add(line);
+            lineCount++;
+            if (batch.size() >= Math.max(1, asnProcessingConfig.getLineBatchSize())) {
+                flushLines();
+            }
+        }
+
+        private void finish() {
+            saveHeader();
+            flushLines();
+            logger.debug("Streaming ingestion mapped {} ASN line(s)", lineCount);
+        }
+
+        private void saveHeader() {
+            if (!headerSaved) {
+                header = asnService.createAsnHeader(header);
+                headerSaved = true;
+            }
+        }
+
+        private void flushLines() {
+            if (!batch.isEmpty()) {
+                if (expectedLineCount < 0) {
+                    // Extrapolate from the share of the file read so far; one loader is used for the whole document
+                    long bytesRead = inputStream.getBytesRead();
+                    expectedLineCount = bytesRead > 0 && bytesRead < fileSize
+                        ? lineCount * fileSize / bytesRead : lineCount;
+                }
+                asnService.createAsnLines(new ArrayList<>(batch), expectedLineCount);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Counts and copies the bytes read from the upload so the normalized content can be stored
+     * without reading the file a second time. Copying stops once the limit is exceeded.
+     */
+    private static class CapturingInputStream extends FilterInputStream {
+        private final long limit;
+        private ByteArrayOutputStream captured;
+        private long bytesRead;
+
+        private CapturingInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+            this.captured = limit > 0 ? new ByteArrayOutputStream() : null;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                bytesRead++;
+            }
+            if (b >= 0 && captured != null) {
+                captured.write(b);
+                checkLimit();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                bytesRead += n;
+            }
+            if (n > 0 && captured != null) {
+                captured.write(b, off, n);
+                checkLimit();
+            }
+            return n;
+        }
+
+        private void checkLimit() {
+            if (captured.size() > limit) {
+                captured = null;
+            }
+        }
+
+        private long getBytesRead() {
+            return bytesRead;
+        }
+
+        private byte[] getCaptured() {
+            return captured != null ? captured.toByteArray() : null;
+        }
+    }
+
+    private String getTextContent(Node node) {
+        return node != null ? node.getTextContent() : null;
     }
     
     private Document parseXmlFile(MultipartFile file) throws Exception {
@@ -289,8 +469,12 @@ public class AsnDocumentProcessingStrategy extends AbstractDocumentProcessingStr
         StringWriter writer = new StringWriter();
         transformer.transform(new DOMSource(document), new StreamResult(writer));
         
+        return normalizeXmlString(writer.toString());
+    }
+
+    private String normalizeXmlString(String xml) {
         // Additional normalization to ensure single line
-        return writer.toString()
+        return xml
             .replaceAll(">[\\s\\r\\n]+<", "><")  // Remove whitespace between tags
             .replaceAll("\\s+", " ")             // Replace multiple spaces with single space
             .replaceAll("\\n|\\r", "")           // Remove all newlines and carriage returns
@@ -353,161 +537,4 @@ public class AsnDocumentProcessingStrategy extends AbstractDocumentProcessingStr
         return 100; // Higher priority for ASN documents
     }
 
-    private String toCamelCase(String fieldName) {
-        return Arrays.stream(fieldName.split("_"))
-            .map(word -> {
-                if (word.isEmpty()) return "";
-                return word.equals(fieldName.split("_")[0]) ? word.toLowerCase() : 
-                    word.substring(0, 1).toUpperCase() + word.substring(1).toLowerCase();
-            })
-            .collect(Collectors.joining());
-    }
-
-    private <T> void setFieldValue(T entity, MappingRule rule, String value) throws Exception {
-        String fieldName = rule.getDatabaseField();
-        String camelCaseField = toCamelCase(fieldName);
-        String setterName = "set" + camelCaseField.substring(0, 1).toUpperCase() + camelCaseField.substring(1);
-        
-        // Log the conversion for debugging
-        logger.debug("Converting field name '{}' to setter method '{}' (camelCase field: {})", 
-            fieldName, setterName, camelCaseField);
-
-        // Apply transformations if needed
-        if (rule.getTransformationRule() != null && !rule.getTransformationRule().isEmpty()) {
-            value = applyTransformationRule(value, rule.getTransformationRule());
-        }
-
-        // Handle different data types dynamically
-        Class<?> entityClass = entity.getClass();
-        String dataType = rule.getDataType() != null ? rule.getDataType().toLowerCase() : "string";
-        
-        try {
-            Method setter;
-            Object convertedValue;
-            
-            switch (dataType) {
-                case "number":
-                case "integer":
-                    setter = entityClass.getMethod(setterName, Integer.class);
-                    // Handle European number format for integers
-                    String cleanValue = value.replace(".", "").replace(",", ".");
-                    convertedValue = Integer.valueOf((int) Math.round(Double.parseDouble(cleanValue)));
-                    break;
-                    
-                case "decimal":
-                case "double":
-                    setter = entityClass.getMethod(setterName, Double.class);
-                    // Handle European number format for decimals
-                    cleanValue = value.replace(".", "").replace(",", ".");
-                    convertedValue = Double.valueOf(cleanValue);
-                    break;
-                    
-                case "boolean":
-                    setter = entityClass.getMethod(setterName, Boolean.class);
-                    convertedValue = Boolean.valueOf(value);
-                    break;
-                    
-                case "date":
-                    setter = entityClass.getMethod(setterName, String.class);
-                    convertedValue = value; // Assuming date is handled by transformation
-                    break;
-                    
-                default: // string
-                    setter = entityClass.getMethod(setterName, String.class);
-                    convertedValue = value;
-            }
-            
-            setter.invoke(entity, convertedValue);
-            
-        } catch (NoSuchMethodException e) {
-            // Try with primitive types if object type fails
-            try {
-                Method setter;
-                Object convertedValue;
-                
-                switch (dataType) {
-                    case "number":
-                    case "integer":
-                        setter = entityClass.getMethod(setterName, int.class);
-                        // Handle European number format for integers
-                        String cleanValue = value.replace(".", "").replace(",", ".");
-                        convertedValue = (int) Math.round(Double.parseDouble(cleanValue));
-                        break;
-                        
-                    case "decimal":
-                    case "double":
-                        setter = entityClass.getMethod(setterName, double.class);
-                        // Handle European number format for decimals
-                        cleanValue = value.replace(".", "").replace(",", ".");
-                        convertedValue = Double.parseDouble(cleanValue);
-                        break;
-                        
-                    case "boolean":
-                        setter = entityClass.getMethod(setterName, boolean.class);
-                        convertedValue = Boolean.parseBoolean(value);
-                        break;
-                        
-                    default:
-                        throw e; // Rethrow if not a primitive type issue
-                }
-                
-                setter.invoke(entity, convertedValue);
-                
-            } catch (Exception ex) {
-                logger.error("Error setting field {} with value {}: {}", fieldName, value, ex.getMessage());
-                throw new RuntimeException("Failed to set field " + fieldName + ": " + ex.getMessage(), ex);
-            }
-        }
-    }
-
-    private String applyTransformationRule(String value, String transformationRule) {
-        if (value == null || value.trim().isEmpty()) {
-            return value;
-        }
-        
-        try {
-            switch (transformationRule.toLowerCase()) {
-                case "parse_integer":
-                case "remove_leading_zeros":
-                    // Remove leading zeros and convert to integer
-                    return String.valueOf(Long.parseLong(value.trim()));
-                    
-                case "format_date":
-                    // Format date to standard format
-                    return OUTPUT_DATE_FORMAT.format(ASN_DATE_FORMAT.parse(value));
-                    
-                case "format_time":
-                    // Format time to standard format
-                    return OUTPUT_TIME_FORMAT.format(ASN_TIME_FORMAT.parse(value));
-                    
-                case "format_decimal":
-                    // Format decimal with precision
-                    double number = Double.parseDouble(value);
-                    return String.format("%.3f", number);
-                    
-                case "map_status":
-                    // Map status codes to values
-                    switch (value.trim()) {
-                        case "01": return "NEW";
-                        case "02": return "PROCESSING";
-                        case "03": return "COMPLETED";
-                        case "04": return "ERROR";
-                        default: return value;
-                    }
-                    
-                default:
-                    logger.warn("Unknown transformation rule: {}", transformationRule);
-                    return value;
-            }
-        } catch (ParseException e) {
-            logger.error("Error parsing date/time value: {}", value, e);
-            return value;
-        } catch (NumberFormatException e) {
-            logger.error("Error parsing number value: {}", value, e);
-            return value;
-        } catch (Exception e) {
-            logger.error("Error applying transformation rule {} to value {}: {}", transformationRule, value, e.getMessage());
-            return value;
-        }
-    }
 }
\ No newline at end of file
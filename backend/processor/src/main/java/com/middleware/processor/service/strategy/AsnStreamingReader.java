@@ -0,0 +1,360 @@
+package com.middleware.processor.service.strategy;
+
+import com.middleware.processor.model.MappingRule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Single-pass StAX reader for ASN documents.
+ * Matches the {@link MappingRule#getXmlPath()} of header and line rules against the current
+ * element path and hands every line to the {@link Handler} as soon as its element closes,
+ * so memory use does not grow with the number of lines in the file.
+ *
+ * Only simple child paths (e.g. {@code DELVRY03/IDOC/E1EDL20/VBELN} or {@code .../@attr})
+ * can be matched this way; use {@link #supports(List, List)} to decide whether a rule set
+ * has to fall back to DOM/XPath processing.
+ *
+ * A reader holds no per-document state and can be shared between threads.
+ *
+ * @param <R> The rule type, e.g. a compiled mapping rule
+ */
+public class AsnStreamingReader<R> {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsnStreamingReader.class);
+
+    private static final Pattern ELEMENT_STEP = Pattern.compile("([A-Za-z_][\\w.\\-]*:)?[A-Za-z_][\\w.\\-]*");
+    private static final Pattern ATTRIBUTE_STEP = Pattern.compile("@([A-Za-z_][\\w.\\-]*:)?[A-Za-z_][\\w.\\-]*");
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    /**
+     * Callback receiving mapped values while the document is read.
+     */
+    public interface Handler<R> {
+
+        /**
+         * Called with the first value found in the document for a header rule.
+         */
+        void onHeaderValue(R rule, String value);
+
+        /**
+         * Called once, right before the first line is reported.
+         */
+        void beforeFirstLine();
+
+        /**
+         * Called when a line element closes.
+         *
+         * @param parentPath The normalized path of the line element
+         * @param lineNumber The 1-based position of the line among lines with the same path
+         * @param rules The line rules of this path
+         * @param values The value for each rule, or null where the line had no matching node
+         */
+        void onLine(String parentPath, int lineNumber, List<R> rules, String[] values);
+    }
+
+    private final Map<String, List<R>> headerRulesByPath = new HashMap<>();
+    private final Map<String, Map<String, List<R>>> headerAttributeRulesByPath = new HashMap<>();
+    private final Map<String, LineGroup<R>> lineGroups = new LinkedHashMap<>();
+
+    /**
+     * @param headerRules Rules whose first match in the document is reported as a header value
+     * @param lineRules Rules grouped into lines by the parent of their path
+     * @param pathOf Returns the mapping rule XPath of a rule
+     */
+    public AsnStreamingReader(List<R> headerRules, List<R> lineRules, Function<R, String> pathOf) {
+        for (R rule : headerRules) {
+            List<String> steps = splitPath(pathOf.apply(rule));
+            String last = steps.get(steps.size() - 1);
+            if (last.startsWith("@")) {
+                String elementPath = String.join("/", steps.subList(0, steps.size() - 1));
+                headerAttributeRulesByPath
+                    .computeIfAbsent(elementPath, k -> new HashMap<>())
+                    .computeIfAbsent(last.substring(1), k -> new ArrayList<>())
+                    .add(rule);
+            } else {
+                headerRulesByPath.computeIfAbsent(String.join("/", steps), k -> new ArrayList<>()).add(rule);
+            }
+        }
+        for (R rule : lineRules) {
+            List<String> steps = splitPath(pathOf.apply(rule));
+            String parentPath = String.join("/", steps.subList(0, steps.size() - 1));
+            lineGroups.computeIfAbsent(parentPath, path -> new LineGroup<>(path, lineGroups.size()))
+                .add(rule, steps.get(steps.size() - 1));
+        }
+    }
+
+    /**
+     * Check whether every rule path is a plain child path this reader can match.
+     */
+    public static boolean supports(List<String> headerPaths, List<String> linePaths) {
+        for (String path : headerPaths) {
+            if (!isSimplePath(path, 1)) {
+                return false;
+            }
+        }
+        for (String path : linePaths) {
+            if (!isSimplePath(path, 2)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Read the document once and report header values and lines to the handler.
+     */
+    public void read(InputStream inputStream, Handler<R> handler) throws XMLStreamException {
+        XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(inputStream);
+        Deque<String> pathStack = new ArrayDeque<>();
+        Deque<ActiveLine<R>> activeLines = new ArrayDeque<>();
+        List<Capture<R>> captures = new ArrayList<>();
+        int[] lineCounts = new int[lineGroups.size()];
+        Set<String> capturedHeaderPaths = new HashSet<>();
+        Set<String> capturedHeaderAttributePaths = new HashSet<>();
+        boolean firstLineSeen = false;
+
+        try {
+            while (reader.hasNext()) {
+                int event = reader.next();
+                switch (event) {
+                    case XMLStreamConstants.START_ELEMENT: {
+                        String localName = reader.getLocalName();
+                        String parent = pathStack.peek();
+                        String path = parent == null ? localName : parent + "/" + localName;
+                        pathStack.push(path);
+                        int depth = pathStack.size();
+
+                        List<R> headerRules = headerRulesByPath.get(path);
+                        if (headerRules != null && capturedHeaderPaths.add(path)) {
+                            captures.add(Capture.forHeader(depth, headerRules));
+                        }
+                        Map<String, List<R>> attributeRules = headerAttributeRulesByPath.get(path);
+                        if (attributeRules != null && capturedHeaderAttributePaths.add(path)) {
+                            for (Map.Entry<String, List<R>> entry : attributeRules.entrySet()) {
+                                String value = reader.getAttributeValue(null, entry.getKey());
+                                if (value != null) {
+                                    for (R rule : entry.getValue()) {
+                                        handler.onHeaderValue(rule, value);
+                                    }
+                                }
+                            }
+                        }
+
+                        ActiveLine<R> currentLine = activeLines.peek();
+                        if (currentLine != null && currentLine.depth == depth - 1) {
+                            List<Integer> indexes = currentLine.group.childIndexes.get(localName);
+                            if (indexes != null) {
+                                captures.add(Capture.forLine(depth, currentLine, indexes));
+                            }
+                        }
+
+                        LineGroup<R> group = lineGroups.get(path);
+                        if (group != null) {
+                            if (!firstLineSeen) {
+                                firstLineSeen = true;
+                                handler.beforeFirstLine();
+                            }
+                            ActiveLine<R> line = new ActiveLine<>(group, depth);
+                            for (Map.Entry<String, List<Integer>> entry : group.attributeIndexes.entrySet()) {
+                                String value = reader.getAttributeValue(null, entry.getKey());
+                                if (value != null) {
+                                    for (int index : entry.getValue()) {
+                                        line.set(index, value);
+                                    }
+                                }
+                            }
+                            activeLines.push(line);
+                        }
+                        break;
+                    }
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.CDATA:
+                    case XMLStreamConstants.SPACE:
+                        if (!captures.isEmpty()) {
+                            String text = reader.getText();
+                            for (Capture<R> capture : captures) {
+                                capture.text.append(text);
+                            }
+                        }
+                        break;
+                    case XMLStreamConstants.END_ELEMENT: {
+                        int depth = pathStack.size();
+                        for (int i = captures.size() - 1; i >= 0; i--) {
+                            Capture<R> capture = captures.get(i);
+                            if (capture.depth == depth) {
+                                captures.remove(i);
+                                capture.complete(handler);
+                            }
+                        }
+                        ActiveLine<R> line = activeLines.peek();
+                        if (line != null && line.depth == depth) {
+                            activeLines.pop();
+                            LineGroup<R> group = line.group;
+                            int lineNumber = ++lineCounts[group.index];
+                            handler.onLine(group.parentPath, lineNumber, group.rules, line.values);
+                        }
+                        pathStack.pop();
+                        break;
+                    }
+                    default:
+                        break;
+                }
+            }
+        } finally {
+            reader.close();
+        }
+
+        for (LineGroup<R> group : lineGroups.values()) {
+            logger.debug("Streamed {} line(s) for parent path {}", lineCounts[group.index], group.parentPath);
+        }
+    }
+
+    private static boolean isSimplePath(String xmlPath, int minSteps) {
+        if (xmlPath == null || xmlPath.isBlank() || xmlPath.contains("//")) {
+            return false;
+        }
+        List<String> steps = splitPath(xmlPath);
+        if (steps.size() < minSteps) {
+            return false;
+        }
+        for (int i = 0; i < steps.size(); i++) {
+            String step = steps.get(i);
+            boolean last = i == steps.size() - 1;
+            if (!ELEMENT_STEP.matcher(step).matches()
+                    && !(last && ATTRIBUTE_STEP.matcher(step).matches())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Split an XPath into its steps, dropping a leading slash and namespace prefixes,
+     * because the reader compares local names only.
+     */
+    private static List<String> splitPath(String xmlPath) {
+        String path = xmlPath.trim();
+        while (path.startsWith("/")) {
+            path = path.substring(1);
+        }
+        List<String> steps = new ArrayList<>();
+        for (String step : path.split("/")) {
+            boolean attribute = step.startsWith("@");
+            String name = attribute ? step.substring(1) : step;
+            int colon = name.indexOf(':');
+            if (colon >= 0) {
+                name = name.substring(colon + 1);
+            }
+            steps.add(attribute ? "@" + name : name);
+        }
+        return steps;
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    private static final class LineGroup<R> {
+        private final String parentPath;
+        private final int index;
+        private final List<R> rules = new ArrayList<>();
+        private final Map<String, List<Integer>> childIndexes = new HashMap<>();
+        private final Map<String, List<Integer>> attributeIndexes = new HashMap<>();
+
+        private LineGroup(String parentPath, int index) {
+            this.parentPath = parentPath;
+            this.index = index;
+        }
+
+        private void add(R rule, String relativeStep) {
+            int index = rules.size();
+            rules.add(rule);
+            if (relativeStep.startsWith("@")) {
+                attributeIndexes.computeIfAbsent(relativeStep.substring(1), k -> new ArrayList<>()).add(index);
+            } else {
+                childIndexes.computeIfAbsent(relativeStep, k -> new ArrayList<>()).add(index);
+            }
+        }
+    }
+
+    private static final class ActiveLine<R> {
+        private final LineGroup<R> group;
+        private final int depth;
+        private final String[] values;
+        private final boolean[] matched;
+
+        private ActiveLine(LineGroup<R> group, int depth) {
+            this.group = group;
+            this.depth = depth;
+            this.values = new String[group.rules.size()];
+            this.matched = new boolean[group.rules.size()];
+        }
+
+        private void set(int index, String value) {
+            // Like XPath, only the first matching node of a line counts
+            if (!matched[index]) {
+                matched[index] = true;
+                values[index] = value;
+            }
+        }
+    }
+
+    private static final class Capture<R> {
+        private final int depth;
+        private final StringBuilder text = new StringBuilder();
+        private final List<R> headerRules;
+        private final ActiveLine<R> line;
+        private final List<Integer> lineIndexes;
+
+        private Capture(int depth, List<R> headerRules, ActiveLine<R> line, List<Integer> lineIndexes) {
+            this.depth = depth;
+            this.headerRules = headerRules;
+            this.line = line;
+            this.lineIndexes = lineIndexes;
+        }
+
+        private static <R> Capture<R> forHeader(int depth, List<R> rules) {
+            return new Capture<>(depth, rules, null, null);
+        }
+
+        private static <R> Capture<R> forLine(int depth, ActiveLine<R> line, List<Integer> indexes) {
+            return new Capture<>(depth, null, line, indexes);
+        }
+
+        private void complete(Handler<R> handler) {
+            String value = text.toString();
+            if (headerRules != null) {
+                for (R rule : headerRules) {
+                    handler.onHeaderValue(rule, value);
+                }
+            } else {
+                for (int index : lineIndexes) {
+                    line.set(index, value);
+                }
+            }
+        }
+    }
+}
@@ -7,6 +7,8 @@ import com.middleware.processor.model.MappingRule;
 import com.middleware.processor.repository.MappingRuleRepository;
 import com.middleware.processor.service.interfaces.ProcessedFileService;
 import com.middleware.processor.service.interfaces.XmlValidationService;
+import com.middleware.processor.validation.ValidatedDocument;
+import com.middleware.processor.validation.XmlValidationResult;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
@@ -15,8 +17,6 @@ import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
@@ -24,6 +24,7 @@ import javax.xml.transform.stream.StreamResult;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathFactory;
+import java.io.InputStream;
 import java.io.StringWriter;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -34,6 +35,9 @@ import java.util.List;
 @Component
 public class XmlProcessingStrategy implements DocumentProcessingStrategy {
 
+    // Length of ProcessedFile.errorMessage
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 1000;
+
     @Autowired
     private ProcessedFileService processedFileService;
 
@@ -52,10 +56,12 @@ public class XmlProcessingStrategy implements DocumentProcessingStrategy {
     @Override
     public ProcessedFile processDocument(MultipartFile file, Interface interfaceEntity) {
         try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setNamespaceAware(true);
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document document = builder.parse(file.getInputStream());
+            // Parse and validate against the schema in a single read of the upload
+            ValidatedDocument validatedDocument;
+            try (InputStream inputStream = file.getInputStream()) {
+                validatedDocument = xmlValidationService.parseAndValidate(inputStream, interfaceEntity);
+            }
+            Document document = validatedDocument.getDocument();
 
             // Create a new ProcessedFile record
             ProcessedFile processedFile = new ProcessedFile();
@@ -66,19 +72,20 @@ public class XmlProcessingStrategy implements DocumentProcessingStrategy {
             processedFile.setProcessedAt(LocalDateTime.now());
             processedFile = processedFileService.createProcessedFile(processedFile);
 
-            if (!xmlValidationService.validateXmlStructure(document)) {
+            if (!validatedDocument.isValid()) {
                 processedFile.setStatus("ERROR");
-                processedFile.setErrorMessage(xmlValidationService.getValidationErrorMessage());
+                processedFile.setErrorMessage(validatedDocument.getResult().getErrorMessage(MAX_ERROR_MESSAGE_LENGTH));
                 return processedFileService.updateProcessedFile(processedFile.getId(), processedFile);
             }
 
-            if (!xmlValidationService.validateXmlContent(document, interfaceEntity)) {
+            XmlValidationResult structureResult = xmlValidationService.validateStructure(document);
+            if (!structureResult.isValid()) {
                 processedFile.setStatus("ERROR");
-                processedFile.setErrorMessage(xmlValidationService.getValidationErrorMessage());
+                processedFile.setErrorMessage(structureResult.getErrorMessage(MAX_ERROR_MESSAGE_LENGTH));
                 return processedFileService.updateProcessedFile(processedFile.getId(), processedFile);
             }
 
-            String transformedXml = transformXmlFile(file, interfaceEntity);
+            String transformedXml = transformDocument(document, interfaceEntity);
             processedFile.setStatus("SUCCESS");
             processedFile.setContent(transformedXml);
 
@@ -111,15 +118,17 @@ public class XmlProcessingStrategy implements DocumentProcessingStrategy {
                 return newFile;
             });
 
-            if (!xmlValidationService.validateXmlStructure(document)) {
+            XmlValidationResult structureResult = xmlValidationService.validateStructure(document);
+            if (!structureResult.isValid()) {
                 processedFile.setStatus("ERROR");
-                processedFile.setErrorMessage(xmlValidationService.getValidationErrorMessage());
+                processedFile.setErrorMessage(structureResult.getErrorMessage(MAX_ERROR_MESSAGE_LENGTH));
                 return processedFileService.updateProcessedFile(processedFile.getId(), processedFile);
             }
 
-            if (!xmlValidationService.validateXmlContent(document, interfaceEntity)) {
+            XmlValidationResult validationResult = xmlValidationService.validate(document, interfaceEntity);
+            if (!validationResult.isValid()) {
                 processedFile.setStatus("ERROR");
-                processedFile.setErrorMessage(xmlValidationService.getValidationErrorMessage());
+                processedFile.setErrorMessage(validationResult.getErrorMessage(MAX_ERROR_MESSAGE_LENGTH));
                 return processedFileService.updateProcessedFile(processedFile.getId(), processedFile);
             }
 
@@ -143,13 +152,8 @@ public class XmlProcessingStrategy implements DocumentProcessingStrategy {
         }
     }
 
-    private String transformXmlFile(MultipartFile file, Interface interfaceEntity) {
+    private String transformDocument(Document document, Interface interfaceEntity) {
         try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setNamespaceAware(true);
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document document = builder.parse(file.getInputStream());
-
             // Get mapping rules for the interface
             List<MappingRule> mappingRules = mappingRuleRepository.findByInterfaceIdAndIsActiveTrue(interfaceEntity.getId());
             
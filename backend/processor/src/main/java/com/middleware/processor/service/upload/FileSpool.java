@@ -0,0 +1,101 @@
+package com.middleware.processor.service.upload;
+
+import com.middleware.processor.config.FileUploadConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Spool directory for uploads processed after the request has returned.
+ * Each upload is stored under the ID of its processed file record until processing finishes.
+ */
+@Component
+public class FileSpool {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileSpool.class);
+
+    private static final String SUFFIX = ".spool";
+
+    private final Path directory;
+
+    public FileSpool(FileUploadConfig fileUploadConfig) {
+        this.directory = Paths.get(fileUploadConfig.getSpoolDirectory()).toAbsolutePath();
+    }
+
+    /**
+     * Copy an upload into the spool.
+     *
+     * @param processedFileId The ID of the processed file record tracking the upload
+     * @param file The uploaded file
+     * @return The spooled copy
+     */
+    public SpooledMultipartFile spool(Long processedFileId, MultipartFile file) throws IOException {
+        Files.createDirectories(directory);
+        Path target = pathOf(processedFileId);
+        Path temp = directory.resolve(processedFileId + SUFFIX + ".tmp");
+        try (InputStream inputStream = file.getInputStream()) {
+            Files.copy(inputStream, temp, StandardCopyOption.REPLACE_EXISTING);
+        }
+        // Only complete copies carry the spool suffix
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        logger.debug("Spooled upload {} for processed file {} ({} bytes)", file.getOriginalFilename(), processedFileId, file.getSize());
+        return new SpooledMultipartFile(target, file.getOriginalFilename(), file.getContentType());
+    }
+
+    /**
+     * Open a spooled upload again, e.g. to resume processing after a restart.
+     */
+    public SpooledMultipartFile open(Long processedFileId, String originalFilename) throws IOException {
+        return new SpooledMultipartFile(pathOf(processedFileId), originalFilename, "application/xml");
+    }
+
+    /**
+     * Remove a spooled upload once it has been processed.
+     */
+    public void delete(Long processedFileId) {
+        try {
+            Files.deleteIfExists(pathOf(processedFileId));
+        } catch (IOException e) {
+            logger.warn("Could not delete spooled upload of processed file {}: {}", processedFileId, e.getMessage());
+        }
+    }
+
+    /**
+     * @return The processed file IDs of all uploads still in the spool
+     */
+    public List<Long> listSpooled() {
+        List<Long> ids = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return ids;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                .filter(name -> name.endsWith(SUFFIX))
+                .forEach(name -> {
+                    try {
+                        ids.add(Long.valueOf(name.substring(0, name.length() - SUFFIX.length())));
+                    } catch (NumberFormatException e) {
+                        logger.warn("Ignoring unexpected file {} in spool directory", name);
+                    }
+                });
+        } catch (IOException e) {
+            logger.warn("Could not list spool directory {}: {}", directory, e.getMessage());
+        }
+        return ids;
+    }
+
+    private Path pathOf(Long processedFileId) {
+        return directory.resolve(processedFileId + SUFFIX);
+    }
+}
@@ -0,0 +1,89 @@
+package com.middleware.processor.service.upload;
+
+import com.middleware.processor.config.FileUploadConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Server-sent event streams following the processing status of async uploads.
+ * Streams are completed once the file reaches a final status.
+ */
+@Component
+public class ProcessingStatusEmitters {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessingStatusEmitters.class);
+
+    private final Map<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final FileUploadConfig fileUploadConfig;
+
+    public ProcessingStatusEmitters(FileUploadConfig fileUploadConfig) {
+        this.fileUploadConfig = fileUploadConfig;
+    }
+
+    /**
+     * Open a stream for a processed file, starting with its current status.
+     */
+    public SseEmitter subscribe(ProcessingStatusEvent current) {
+        SseEmitter emitter = new SseEmitter(fileUploadConfig.getStatusStreamTimeout());
+        Long id = current.getProcessedFileId();
+        if (!send(emitter, current) || current.isFinal()) {
+            emitter.complete();
+            return emitter;
+        }
+        List<SseEmitter> list = emitters.computeIfAbsent(id, key -> new CopyOnWriteArrayList<>());
+        list.add(emitter);
+        Runnable remove = () -> remove(id, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        return emitter;
+    }
+
+    @EventListener
+    public void onStatusChanged(ProcessingStatusEvent event) {
+        List<SseEmitter> list = event.isFinal()
+            ? emitters.remove(event.getProcessedFileId())
+            : emitters.get(event.getProcessedFileId());
+        if (list == null) {
+            return;
+        }
+        for (SseEmitter emitter : list) {
+            if (send(emitter, event) && event.isFinal()) {
+                emitter.complete();
+            }
+        }
+    }
+
+    private boolean send(SseEmitter emitter, ProcessingStatusEvent event) {
+        try {
+            emitter.send(SseEmitter.event()
+                .name("status")
+                .id(event.getProcessedFileId() + ":" + event.getStatus())
+                .data(Map.of(
+                    "id", event.getProcessedFileId(),
+                    "status", event.getStatus(),
+                    "errorMessage", event.getErrorMessage() != null ? event.getErrorMessage() : "")));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Dropping status stream of processed file {}: {}", event.getProcessedFileId(), e.getMessage());
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private void remove(Long id, SseEmitter emitter) {
+        emitters.computeIfPresent(id, (key, list) -> {
+            list.remove(emitter);
+            return list.isEmpty() ? null : list;
+        });
+    }
+}
@@ -0,0 +1,36 @@
+package com.middleware.processor.service.upload;
+
+/**
+ * Published when the status of an asynchronously processed file changes.
+ */
+public class ProcessingStatusEvent {
+
+    private final Long processedFileId;
+    private final String status;
+    private final String errorMessage;
+
+    public ProcessingStatusEvent(Long processedFileId, String status, String errorMessage) {
+        this.processedFileId = processedFileId;
+        this.status = status;
+        this.errorMessage = errorMessage;
+    }
+
+    public Long getProcessedFileId() {
+        return processedFileId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * @return Whether processing has finished, successfully or not
+     */
+    public boolean isFinal() {
+        return !"PROCESSING".equals(status);
+    }
+}
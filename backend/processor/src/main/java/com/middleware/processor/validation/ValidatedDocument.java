@@ -0,0 +1,27 @@
+package com.middleware.processor.validation;
+
+import lombok.Getter;
+import org.w3c.dom.Document;
+
+/**
+ * A document parsed and schema-validated in a single pass over its input.
+ */
+@Getter
+public final class ValidatedDocument {
+
+    /**
+     * The parsed document, or null if the input could not be parsed.
+     */
+    private final Document document;
+
+    private final XmlValidationResult result;
+
+    public ValidatedDocument(Document document, XmlValidationResult result) {
+        this.document = document;
+        this.result = result;
+    }
+
+    public boolean isValid() {
+        return document != null && result.isValid();
+    }
+}
@@ -0,0 +1,82 @@
+package com.middleware.processor.validation;
+
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SAX error handler collecting the errors of one validation run.
+ * Recoverable errors are collected so all of them are reported; fatal errors stop the run.
+ * Create one instance per document, it is not meant to be shared between threads.
+ */
+public class XmlErrorCollector implements ErrorHandler {
+
+    private final int maxErrors;
+    private final List<XmlValidationResult.Error> errors = new ArrayList<>();
+
+    /**
+     * @param maxErrors Number of errors after which the run is stopped, 0 or less for no limit
+     */
+    public XmlErrorCollector(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    @Override
+    public void warning(SAXParseException exception) {
+        // Warnings don't make a document invalid
+    }
+
+    @Override
+    public void error(SAXParseException exception) throws SAXException {
+        XmlValidationResult.Error error = XmlValidationResult.Error.from(exception);
+        // The DOM validator may report the same error twice in a row
+        if (!errors.isEmpty() && isSame(errors.get(errors.size() - 1), error)) {
+            return;
+        }
+        errors.add(error);
+        if (maxErrors > 0 && errors.size() >= maxErrors) {
+            throw exception;
+        }
+    }
+
+    @Override
+    public void fatalError(SAXParseException exception) throws SAXException {
+        errors.add(XmlValidationResult.Error.from(exception));
+        throw exception;
+    }
+
+    /**
+     * Record an exception that ended the run, unless it was already reported to this handler.
+     */
+    public void add(SAXException exception) {
+        if (exception instanceof SAXParseException) {
+            XmlValidationResult.Error error = XmlValidationResult.Error.from((SAXParseException) exception);
+            if (errors.stream().noneMatch(existing -> isSame(existing, error))) {
+                errors.add(error);
+            }
+        } else {
+            errors.add(new XmlValidationResult.Error(-1, -1, exception.getMessage()));
+        }
+    }
+
+    private static boolean isSame(XmlValidationResult.Error a, XmlValidationResult.Error b) {
+        return a.getLineNumber() == b.getLineNumber()
+            && a.getColumnNumber() == b.getColumnNumber()
+            && String.valueOf(a.getMessage()).equals(String.valueOf(b.getMessage()));
+    }
+
+    public List<XmlValidationResult.Error> getErrors() {
+        return errors;
+    }
+
+    /**
+     * @param summary Prefix of the error message
+     * @return The result of the run
+     */
+    public XmlValidationResult toResult(String summary) {
+        return XmlValidationResult.of(summary, errors);
+    }
+}
@@ -0,0 +1,123 @@
+package com.middleware.processor.validation;
+
+import lombok.Getter;
+import org.xml.sax.SAXParseException;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable outcome of validating one XML document.
+ * Carries every error reported by the parser or validator, with its position when known,
+ * so results can be produced and consumed concurrently without shared state.
+ */
+@Getter
+public final class XmlValidationResult {
+
+    private static final XmlValidationResult VALID = new XmlValidationResult(null, Collections.emptyList());
+
+    /**
+     * Prefix of the error message, e.g. "XML validation failed against XSD".
+     */
+    private final String summary;
+    private final List<Error> errors;
+
+    private XmlValidationResult(String summary, List<Error> errors) {
+        this.summary = summary;
+        this.errors = List.copyOf(errors);
+    }
+
+    public static XmlValidationResult valid() {
+        return VALID;
+    }
+
+    /**
+     * Create a failed result with a single error without position.
+     */
+    public static XmlValidationResult invalid(String message) {
+        return new XmlValidationResult(null, List.of(new Error(-1, -1, message)));
+    }
+
+    /**
+     * Create a result from collected errors; valid if there are none.
+     */
+    public static XmlValidationResult of(String summary, List<Error> errors) {
+        return errors.isEmpty() ? VALID : new XmlValidationResult(summary, errors);
+    }
+
+    public boolean isValid() {
+        return errors.isEmpty();
+    }
+
+    /**
+     * @return All errors joined into one message, or null if the document is valid
+     */
+    public String getErrorMessage() {
+        if (isValid()) {
+            return null;
+        }
+        String details = errors.stream().map(Error::toString).collect(Collectors.joining("; "));
+        return summary != null ? summary + ": " + details : details;
+    }
+
+    /**
+     * Join the errors into a message of at most the given length, e.g. to fit a database column.
+     * Errors that don't fit are counted instead of listed.
+     */
+    public String getErrorMessage(int maxLength) {
+        String message = getErrorMessage();
+        if (message == null || message.length() <= maxLength) {
+            return message;
+        }
+        StringBuilder builder = new StringBuilder(summary != null ? summary + ": " : "");
+        for (int i = 0; i < errors.size(); i++) {
+            String suffix = "; ... and " + (errors.size() - i) + " more error(s)";
+            String next = (i > 0 ? "; " : "") + errors.get(i);
+            if (builder.length() + next.length() + suffix.length() > maxLength) {
+                builder.append(suffix);
+                break;
+            }
+            builder.append(next);
+        }
+        return builder.length() <= maxLength ? builder.toString() : builder.substring(0, maxLength);
+    }
+
+    /**
+     * A single validation error.
+     */
+    @Getter
+    public static final class Error {
+        /**
+         * Line number in the document, or -1 if unknown.
+         */
+        private final int lineNumber;
+
+        /**
+         * Column number in the document, or -1 if unknown.
+         */
+        private final int columnNumber;
+
+        private final String message;
+
+        public Error(int lineNumber, int columnNumber, String message) {
+            this.lineNumber = lineNumber;
+            this.columnNumber = columnNumber;
+            this.message = message;
+        }
+
+        public static Error from(SAXParseException e) {
+            return new Error(e.getLineNumber(), e.getColumnNumber(), e.getMessage());
+        }
+
+        @Override
+        public String toString() {
+            if (lineNumber < 0) {
+                return message;
+            }
+            return columnNumber < 0
+                ? "line " + lineNumber + ": " + message
+                : "line " + lineNumber + ", column " + columnNumber + ": " + message;
+        }
+    }
+}
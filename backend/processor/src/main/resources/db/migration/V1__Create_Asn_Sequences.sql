@@ -0,0 +1,5 @@
+-- Pooled sequences for ASN headers and lines so Hibernate can batch their inserts.
+-- INCREMENT BY must match the allocationSize of the entity sequence generators.
+-- They are moved past existing rows by the vendor-specific V1_1 migration.
+CREATE SEQUENCE IF NOT EXISTS asn_headers_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS asn_lines_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,9 @@
+-- Revoked JWTs shared by all processor replicas, keyed by jti (or token hash) until the token expires.
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    token_id VARCHAR(128) PRIMARY KEY,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_revoked_at ON revoked_tokens(revoked_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
@@ -0,0 +1,19 @@
+-- Composite indexes for the cursor (keyset) queries: filter column first, then the sort key and ID,
+-- so each slice is one index range scan read backwards from the cursor.
+CREATE INDEX IF NOT EXISTS idx_processed_files_processed_at_id ON processed_files(processed_at, id);
+CREATE INDEX IF NOT EXISTS idx_processed_files_client_processed_at_id ON processed_files(client_id, processed_at, id);
+CREATE INDEX IF NOT EXISTS idx_processed_files_interface_processed_at_id ON processed_files(interface_id, processed_at, id);
+CREATE INDEX IF NOT EXISTS idx_processed_files_status_processed_at_id ON processed_files(status, processed_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_http_audit_logs_created_at_id ON http_audit_logs(created_at, id);
+CREATE INDEX IF NOT EXISTS idx_http_audit_logs_client_created_at_id ON http_audit_logs(client_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_http_audit_logs_username_created_at_id ON http_audit_logs(username, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_http_audit_logs_action_created_at_id ON http_audit_logs(action, created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_asn_headers_client_asn_id ON asn_headers(client_id, asn_id);
+CREATE INDEX IF NOT EXISTS idx_asn_lines_header_line_id ON asn_lines(header_asn_id, line_id);
+CREATE INDEX IF NOT EXISTS idx_asn_lines_client_line_id ON asn_lines(client_id, line_id);
+
+-- Covered by the composite indexes above
+DROP INDEX IF EXISTS idx_http_audit_logs_username;
+DROP INDEX IF EXISTS idx_http_audit_logs_created_at;
@@ -0,0 +1,129 @@
+package com.middleware.processor.service.impl;
+
+import com.middleware.processor.config.AsnProcessingConfig;
+import com.middleware.processor.model.AsnHeader;
+import com.middleware.processor.model.AsnLine;
+import com.middleware.processor.model.Client;
+import com.middleware.processor.repository.ClientRepository;
+import com.middleware.processor.service.interfaces.AsnService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * COPY loading of ASN lines on PostgreSQL, with the schema created by the Flyway migrations.
+ */
+@DataJpaTest(properties = "logging.file.name=target/asn-line-copy-loader-test.log")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({AsnServiceImpl.class, AsnLineCopyLoader.class, AsnProcessingConfig.class})
+class AsnLineCopyLoaderTest {
+
+    /**
+     * The application's component scan would pull every service into the JPA slice.
+     */
+    @Configuration
+    @EntityScan("com.middleware.processor.model")
+    @EnableJpaRepositories("com.middleware.processor.repository")
+    static class JpaConfig {
+    }
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16");
+
+    @Autowired
+    private AsnService asnService;
+
+    @Autowired
+    private AsnLineCopyLoader asnLineCopyLoader;
+
+    @Autowired
+    private AsnProcessingConfig asnProcessingConfig;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void copiedLinesTakeIdsFromTheSequenceSharedWithJpa() {
+        Client client = clientRepository.findByCode("DEFAULT").orElseThrow();
+        AsnHeader header = new AsnHeader();
+        header.setClient(client);
+        header.setAsnNumber("ASN-COPY");
+        header.setAsnType(1);
+        header.setAsnLevel(0);
+        header.setReceiptDttm("2024-01-01T00:00:00");
+        header = asnService.createAsnHeader(header);
+
+        // Hibernate reserves a block of IDs before the copy, and must not hand out copied IDs afterwards
+        List<AsnLine> before = asnService.createAsnLines(lines(header, client, "JPA-BEFORE-", 10));
+
+        int copyCount = (int) asnProcessingConfig.getCopyThreshold();
+        assertThat(asnLineCopyLoader.supports(copyCount)).isTrue();
+        List<AsnLine> copied = asnService.createAsnLines(lines(header, client, "COPY-", copyCount), copyCount);
+
+        List<AsnLine> after = asnService.createAsnLines(lines(header, client, "JPA-AFTER-", 120));
+        entityManager.flush();
+
+        assertThat(count("SELECT COUNT(*) FROM asn_lines WHERE header_asn_id = ?1 AND line_number LIKE 'COPY-%'",
+            header.getId())).isEqualTo(copyCount);
+        assertThat(count("SELECT COUNT(*) FROM asn_lines WHERE header_asn_id = ?1", header.getId()))
+            .isEqualTo(copyCount + 130L);
+
+        Set<Long> copiedIds = ids(copied);
+        assertThat(copiedIds).hasSize(copyCount).doesNotContainNull();
+        long sequenceValue = count("SELECT last_value FROM asn_lines_seq", null);
+        assertThat(copiedIds).allSatisfy(id -> assertThat(id).isBetween(1L, sequenceValue));
+        assertThat(copiedIds).doesNotContainAnyElementsOf(ids(before)).doesNotContainAnyElementsOf(ids(after));
+        assertThat(count("SELECT COUNT(DISTINCT line_id) FROM asn_lines WHERE header_asn_id = ?1", header.getId()))
+            .isEqualTo(copyCount + 130L);
+    }
+
+    private static List<AsnLine> lines(AsnHeader header, Client client, String prefix, int count) {
+        List<AsnLine> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AsnLine line = new AsnLine();
+            line.setHeader(header);
+            line.setClient(client);
+            line.setLineNumber(prefix + i);
+            line.setItemNumber("ITEM-" + i);
+            line.setQuantity(i);
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    private static Set<Long> ids(List<AsnLine> lines) {
+        Set<Long> ids = new HashSet<>();
+        lines.forEach(line -> ids.add(line.getId()));
+        return ids;
+    }
+
+    private long count(String sql, Long parameter) {
+        var query = entityManager.createNativeQuery(sql);
+        if (parameter != null) {
+            query.setParameter(1, parameter);
+        }
+        return ((Number) query.getSingleResult()).longValue();
+    }
+}
@@ -0,0 +1,117 @@
+package com.middleware.processor.service.inbound;
+
+import com.middleware.processor.model.Client;
+import com.middleware.processor.model.Interface;
+import com.middleware.processor.model.ProcessedFile;
+import com.middleware.processor.repository.InterfaceRepository;
+import com.middleware.processor.service.interfaces.DocumentProcessingStrategyService;
+import com.rabbitmq.client.Channel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Acknowledgement of inbound.processor deliveries, against a stubbed channel.
+ */
+class InboundMessageConsumerTest {
+
+    private static final long CLIENT_ID = 1L;
+    private static final long INTERFACE_ID = 2L;
+    private static final long DELIVERY_TAG = 42L;
+
+    private DocumentProcessingStrategyService strategyService;
+    private InboundContentStore contentStore;
+    private Channel channel;
+    private InboundMessageConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        strategyService = mock(DocumentProcessingStrategyService.class);
+        contentStore = mock(InboundContentStore.class);
+        channel = mock(Channel.class);
+
+        Client client = new Client();
+        client.setId(CLIENT_ID);
+        Interface interfaceEntity = new Interface();
+        interfaceEntity.setId(INTERFACE_ID);
+        interfaceEntity.setClient(client);
+        InterfaceRepository interfaceRepository = mock(InterfaceRepository.class);
+        when(interfaceRepository.findById(INTERFACE_ID)).thenReturn(Optional.of(interfaceEntity));
+
+        consumer = new InboundMessageConsumer(strategyService, interfaceRepository, contentStore,
+            mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void acknowledgesAfterProcessingAndDeletesClaimCheckedFile() throws Exception {
+        ProcessedFile processedFile = new ProcessedFile();
+        processedFile.setStatus("SUCCESS");
+        when(strategyService.processDocument(any(MultipartFile.class), any(Interface.class))).thenReturn(processedFile);
+        when(contentStore.open("2024/01/01/abc", "sha", "asn.xml", null))
+            .thenReturn(Optional.of(new StoredInboundFile(Path.of("asn.xml"), 6, "asn.xml", null)));
+
+        Message message = message(CLIENT_ID, false);
+        message.getMessageProperties().setHeader(InboundMessageConsumer.CONTENT_REF_HEADER, "2024/01/01/abc");
+        message.getMessageProperties().setHeader(InboundMessageConsumer.CONTENT_CHECKSUM_HEADER, "sha");
+        consumer.onMessage(message, channel);
+
+        InOrder order = inOrder(strategyService, channel, contentStore);
+        order.verify(strategyService).processDocument(any(MultipartFile.class), any(Interface.class));
+        order.verify(channel).basicAck(DELIVERY_TAG, false);
+        order.verify(contentStore).delete("2024/01/01/abc");
+        verify(channel, never()).basicReject(anyLong(), anyBoolean());
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    void rejectsToDeadLetterQueueWhenInterfaceBelongsToAnotherClient() throws Exception {
+        consumer.onMessage(message(CLIENT_ID + 1, false), channel);
+
+        verify(channel).basicReject(DELIVERY_TAG, false);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+        verify(strategyService, never()).processDocument(any(), any());
+    }
+
+    @Test
+    void requeuesOnceBeforeDeadLettering() throws Exception {
+        when(strategyService.processDocument(any(MultipartFile.class), any(Interface.class)))
+            .thenThrow(new IllegalStateException("database unavailable"));
+
+        consumer.onMessage(message(CLIENT_ID, false), channel);
+        verify(channel).basicNack(DELIVERY_TAG, false, true);
+
+        consumer.onMessage(message(CLIENT_ID, true), channel);
+        verify(channel).basicNack(DELIVERY_TAG, false, false);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+        verify(contentStore, never()).delete(eq("2024/01/01/abc"));
+    }
+
+    private static Message message(long clientId, boolean redelivered) {
+        MessageProperties properties = new MessageProperties();
+        properties.setDeliveryTag(DELIVERY_TAG);
+        properties.setRedelivered(redelivered);
+        properties.setContentType(MessageProperties.CONTENT_TYPE_XML);
+        properties.setHeader(InboundMessageConsumer.CLIENT_ID_HEADER, clientId);
+        properties.setHeader(InboundMessageConsumer.INTERFACE_ID_HEADER, INTERFACE_ID);
+        properties.setHeader("CamelFileName", "asn.xml");
+        return new Message("<asn/>".getBytes(StandardCharsets.UTF_8), properties);
+    }
+}